@@ -0,0 +1,82 @@
+package com.example.political_chat_backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ChatMessage Jackson 직렬화 처리량.
+ * 일반 채팅 프레임(가장 많음), 접속자 변경분, 대형 방 스냅샷(USER_LIST_UPDATE)과
+ * 인바운드 SEND 역직렬화, CBOR 인코딩을 측정합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class ChatMessageSerializationBenchmark {
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = new CBORMapper();
+
+    ChatMessage chatMessage;
+    ChatMessage presenceDelta;
+    ChatMessage largeSnapshot;
+    byte[] chatMessageJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        chatMessage = new ChatMessage("bench-user", "안녕하세요, 벤치마크 메시지입니다. 오늘 토론 주제에 대해 이야기해 봅시다.",
+                ChatMessage.MessageType.CHAT, "bench-room");
+
+        presenceDelta = new ChatMessage(null, null, ChatMessage.MessageType.PRESENCE_DELTA, "bench-room");
+        presenceDelta.setPresenceBaseVersion(41L);
+        presenceDelta.setPresenceVersion(43L);
+        presenceDelta.setUserCount(120);
+        presenceDelta.setJoinedUsers(List.of("user-1", "user-2"));
+        presenceDelta.setLeftUsers(List.of("user-3"));
+
+        Set<String> users = new LinkedHashSet<>();
+        for (int i = 0; i < 500; i++) {
+            users.add("user-" + i);
+        }
+        largeSnapshot = new ChatMessage(null, null, ChatMessage.MessageType.USER_LIST_UPDATE, "bench-room");
+        largeSnapshot.setUsers(users);
+        largeSnapshot.setUserCount(users.size());
+        largeSnapshot.setPresenceVersion(43L);
+
+        chatMessageJson = jsonMapper.writeValueAsBytes(chatMessage);
+    }
+
+    @Benchmark
+    public byte[] serializeChat() throws Exception {
+        return jsonMapper.writeValueAsBytes(chatMessage);
+    }
+
+    @Benchmark
+    public byte[] serializePresenceDelta() throws Exception {
+        return jsonMapper.writeValueAsBytes(presenceDelta);
+    }
+
+    @Benchmark
+    public byte[] serializeLargeSnapshot() throws Exception {
+        return jsonMapper.writeValueAsBytes(largeSnapshot);
+    }
+
+    @Benchmark
+    public ChatMessage deserializeChat() throws Exception {
+        return jsonMapper.readValue(chatMessageJson, ChatMessage.class);
+    }
+
+    @Benchmark
+    public byte[] serializeChatCbor() throws Exception {
+        return cborMapper.writeValueAsBytes(chatMessage);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.political_chat_backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ChatController가 메시지마다 호출하는 slow-mode 판정(ChatRateLimiter.tryAcquire) 처리량.
+ * 도배 상황(같은 사용자가 쿨다운 중에 계속 보내 거부되는 경로)과, 한 방에서 여러 사용자가 동시에 보내는 경우,
+ * slow-mode가 꺼진 방(설정 조회만 하는 경로)을 측정합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class ChatRateLimiterBenchmark {
+
+    private static final String ROOM = "bench-room";
+    private static final String UNLIMITED_ROOM = "unlimited-room";
+
+    ChatRateLimiter chatRateLimiter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        chatRateLimiter = new ChatRateLimiter(5, 1, 600);
+        chatRateLimiter.setRoomCooldown(UNLIMITED_ROOM, 0);
+    }
+
+    @State(Scope.Thread)
+    public static class Sender {
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+        String username;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            username = "bench-user-" + SEQUENCE.getAndIncrement();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long rejectedDuringCooldown(Sender sender) {
+        return chatRateLimiter.tryAcquire(ROOM, sender.username);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long rejectedDuringCooldownContended(Sender sender) {
+        return chatRateLimiter.tryAcquire(ROOM, sender.username);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long slowModeDisabled(Sender sender) {
+        return chatRateLimiter.tryAcquire(UNLIMITED_ROOM, sender.username);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.political_chat_backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅방 목록 응답 생성 비용: 엔티티 → ChatRoomDto 변환과 방마다의 접속자 수 조회.
+ * 카테고리별 방 목록 API가 방 개수만큼 반복하는 작업입니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ChatRoomDtoMappingBenchmark {
+
+    @Param({"20", "500"})
+    int roomCount;
+
+    List<ChatRoom> rooms;
+    ChatRoomUserService chatRoomUserService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CommunityCategory category = new CommunityCategory("bench-category", "Benchmark", "benchmark category");
+        chatRoomUserService = new ChatRoomUserService();
+        rooms = new ArrayList<>(roomCount);
+        for (int i = 0; i < roomCount; i++) {
+            ChatRoom room = new ChatRoom("room-" + i, "Room " + i, category, "owner-" + i);
+            rooms.add(room);
+            for (int u = 0; u < i % 10; u++) {
+                chatRoomUserService.registerSession("session-" + i + "-" + u, "user-" + u);
+                chatRoomUserService.joinRoom("session-" + i + "-" + u, room.getRoomId());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ChatRoomDto> mapRoomList() {
+        List<ChatRoomDto> result = new ArrayList<>(rooms.size());
+        for (ChatRoom room : rooms) {
+            result.add(ChatRoomDto.fromEntity(room, chatRoomUserService.countUsersInRoom(room.getRoomId())));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.political_chat_backend;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+/**
+ * JwtUtils.parseVerifiedClaims 처리량.
+ * STOMP CONNECT/REST 요청마다 거치는 경로로, 검증 캐시에 있는 토큰과 매번 HS512 서명 검증을 하는 경우를 비교합니다.
+ * (캐시 최대 크기를 0으로 두면 모든 호출이 서명 검증을 거칩니다.)
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret";
+
+    JwtUtils cachingJwtUtils;
+    JwtUtils verifyingJwtUtils;
+    String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cachingJwtUtils = jwtUtils(10000);
+        verifyingJwtUtils = jwtUtils(0);
+        UserDetailsImpl user = new UserDetailsImpl(1L, "bench-user", "",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = cachingJwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private static JwtUtils jwtUtils(int cacheMaxEntries) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "chatMetrics", new ChatMetrics(new SimpleMeterRegistry(), 200, 100));
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheMaxEntries", cacheMaxEntries);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheTtlMs", 300000L);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Claims cachedToken() {
+        return cachingJwtUtils.parseVerifiedClaims(token);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Claims cachedTokenContended() {
+        return cachingJwtUtils.parseVerifiedClaims(token);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Claims signatureVerification() {
+        return verifyingJwtUtils.parseVerifiedClaims(token);
+    }
+}
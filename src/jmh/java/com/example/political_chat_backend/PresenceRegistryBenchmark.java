@@ -0,0 +1,112 @@
+package com.example.political_chat_backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ChatRoomUserService 입장/퇴장 처리량.
+ * 스레드마다 자기 세션/사용자로 입장 후 퇴장을 반복하며, 모든 스레드가 한 방에 몰리는 경우(hot room)와
+ * 방이 나뉘어 있는 경우, 그리고 입장/퇴장 중에 스냅샷을 읽는 경우를 비교합니다.
+ * 방에는 미리 접속자(preloaded-users)를 채워 두어 스냅샷 복사 비용이 실제 방과 비슷하도록 합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class PresenceRegistryBenchmark {
+
+    private static final String HOT_ROOM = "hot-room";
+    private static final int ROOM_COUNT = 64;
+    private static final int PRELOADED_USERS = 200;
+
+    ChatRoomUserService chatRoomUserService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        chatRoomUserService = new ChatRoomUserService();
+        preload(HOT_ROOM);
+        for (int i = 0; i < ROOM_COUNT; i++) {
+            preload("room-" + i);
+        }
+    }
+
+    private void preload(String roomId) {
+        for (int i = 0; i < PRELOADED_USERS; i++) {
+            chatRoomUserService.registerSession(roomId + "-idle-session-" + i, roomId + "-idle-user-" + i);
+            chatRoomUserService.joinRoom(roomId + "-idle-session-" + i, roomId);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+        String sessionId;
+        String username;
+        String ownRoomId;
+
+        @Setup(Level.Trial)
+        public void setUp(PresenceRegistryBenchmark benchmark) {
+            int id = SEQUENCE.getAndIncrement();
+            sessionId = "bench-session-" + id;
+            username = "bench-user-" + id;
+            ownRoomId = "room-" + (id % ROOM_COUNT);
+            benchmark.chatRoomUserService.registerSession(sessionId, username);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void joinLeaveSingleThread(Client client, Blackhole blackhole) {
+        joinLeave(client, HOT_ROOM, blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void joinLeaveContendedHotRoom(Client client, Blackhole blackhole) {
+        joinLeave(client, HOT_ROOM, blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void joinLeaveSpreadRooms(Client client, Blackhole blackhole) {
+        joinLeave(client, client.ownRoomId, blackhole);
+    }
+
+    @Benchmark
+    @Group("hotRoomReadWrite")
+    @GroupThreads(4)
+    public void hotRoomWriter(Client client, Blackhole blackhole) {
+        joinLeave(client, HOT_ROOM, blackhole);
+    }
+
+    @Benchmark
+    @Group("hotRoomReadWrite")
+    @GroupThreads(4)
+    public ChatRoomUserService.PresenceSnapshot hotRoomSnapshotReader() {
+        return chatRoomUserService.getPresenceSnapshot(HOT_ROOM);
+    }
+
+    // 연결부터 종료까지의 경로 (세션 역색인으로 입장했던 방만 갱신). 종료된 세션은 입장할 수 없으므로 매번 등록
+    @Benchmark
+    @Threads(8)
+    public void joinThenDisconnect(Client client, Blackhole blackhole) {
+        chatRoomUserService.registerSession(client.sessionId, client.username);
+        blackhole.consume(chatRoomUserService.joinRoom(client.sessionId, client.ownRoomId));
+        blackhole.consume(chatRoomUserService.removeSession(client.sessionId));
+    }
+
+    private void joinLeave(Client client, String roomId, Blackhole blackhole) {
+        blackhole.consume(chatRoomUserService.joinRoom(client.sessionId, roomId));
+        blackhole.consume(chatRoomUserService.leaveRoom(client.sessionId, roomId));
+    }
+}
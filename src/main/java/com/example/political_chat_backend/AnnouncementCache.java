@@ -0,0 +1,182 @@
+package com.example.political_chat_backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 공지사항 조회 캐시와 조건부 요청(ETag / Last-Modified) 검증값.
+ * <ul>
+ *     <li>개별 공지사항 DTO와 목록(요약)의 앞쪽 몇 페이지를 메모리에 보관합니다.</li>
+ *     <li>검증값은 공지사항의 updatedAt에서 만들며, 목록의 검증값은 전체 공지 수와 가장 최근 updatedAt으로 만듭니다.
+ *     (삭제는 개수로, 생성/수정은 최근 수정 시각으로 드러남)</li>
+ *     <li>생성/수정/삭제 시 AnnouncementService가 무효화합니다. 트랜잭션 안에서는 커밋 이후에 한 번 더 비웁니다.</li>
+ *     <li>무효화는 이 인스턴스의 변경에만 반응하므로, 다른 인스턴스에서 바뀐 공지는 짧은 TTL이 지나면 반영됩니다.
+ *     (다중 인스턴스에서 TTL 동안만 이전 내용과 304 응답이 나갈 수 있음)</li>
+ *     <li>항목 수가 max-entries에 이르면 만료된 항목을 먼저 지우고, 그래도 가득 차 있으면 임의의 항목을 내보내고 새 항목을 넣습니다.</li>
+ * </ul>
+ */
+@Component
+public class AnnouncementCache {
+
+    /**
+     * 조건부 요청 검증값. lastModifiedMillis가 -1이면 Last-Modified 없음 (공지가 하나도 없을 때)
+     */
+    public record Validators(String etag, long lastModifiedMillis) {
+
+        static Validators ofAnnouncement(Long id, LocalDateTime updatedAt) {
+            long millis = toMillis(updatedAt);
+            return new Validators("\"a" + id + "-" + millis + "\"", millis);
+        }
+
+        static Validators ofList(long count, LocalDateTime lastUpdatedAt) {
+            long millis = lastUpdatedAt != null ? toMillis(lastUpdatedAt) : -1;
+            return new Validators("\"l" + count + "-" + millis + "\"", millis);
+        }
+
+        private static long toMillis(LocalDateTime dateTime) {
+            return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+
+    private record PageKey(int page, int size, Sort sort) {}
+
+    private record Entry<T>(T value, long expiresAtNanos) {
+
+        boolean isFresh() {
+            return expiresAtNanos - System.nanoTime() > 0;
+        }
+    }
+
+    private final int cachedPages;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    // Key: 공지사항 ID
+    private final Map<Long, Entry<AnnouncementDto>> announcements = new ConcurrentHashMap<>();
+    // Key: 페이지 번호/크기/정렬 (앞쪽 cachedPages 페이지만)
+    private final Map<PageKey, Entry<Page<AnnouncementSummaryDto>>> pages = new ConcurrentHashMap<>();
+    private volatile Entry<Validators> listValidators;
+    // 무효화될 때마다 증가. 무효화 이전에 시작된 조회 결과가 캐시에 저장되지 않도록 비교합니다.
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public AnnouncementCache(@Value("${app.announcements.cache.pages:3}") int cachedPages,
+                             @Value("${app.announcements.cache.max-entries:500}") int maxEntries,
+                             @Value("${app.announcements.cache.ttl-ms:5000}") long ttlMs) {
+        this.cachedPages = cachedPages;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = ttlMs * 1_000_000L;
+    }
+
+    public AnnouncementDto getAnnouncement(Long id, Supplier<AnnouncementDto> loader) {
+        AnnouncementDto cached = freshValue(announcements.get(id));
+        if (cached != null) {
+            return cached;
+        }
+        long loadGeneration = generation.get();
+        AnnouncementDto loaded = loader.get();
+        storeIfCurrent(loadGeneration, () -> put(announcements, id, loaded));
+        return loaded;
+    }
+
+    /**
+     * 캐시에 있는 공지사항의 검증값 (없거나 만료되었으면 null)
+     */
+    public Validators peekAnnouncementValidators(Long id) {
+        AnnouncementDto cached = freshValue(announcements.get(id));
+        return cached != null ? Validators.ofAnnouncement(cached.getId(), cached.getUpdatedAt()) : null;
+    }
+
+    public Page<AnnouncementSummaryDto> getPage(Pageable pageable, Supplier<Page<AnnouncementSummaryDto>> loader) {
+        if (pageable.isUnpaged() || pageable.getPageNumber() >= cachedPages) {
+            return loader.get();
+        }
+        PageKey key = new PageKey(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+        Page<AnnouncementSummaryDto> cached = freshValue(pages.get(key));
+        if (cached != null) {
+            return cached;
+        }
+        long loadGeneration = generation.get();
+        Page<AnnouncementSummaryDto> loaded = loader.get();
+        // 정렬/크기 조합이 많아도 캐시가 무한히 늘지 않도록 제한 (put에서 maxEntries 유지)
+        storeIfCurrent(loadGeneration, () -> put(pages, key, loaded));
+        return loaded;
+    }
+
+    public Validators getListValidators(Supplier<Validators> loader) {
+        Validators cached = freshValue(listValidators);
+        if (cached != null) {
+            return cached;
+        }
+        long loadGeneration = generation.get();
+        Validators loaded = loader.get();
+        storeIfCurrent(loadGeneration, () -> listValidators = newEntry(loaded));
+        return loaded;
+    }
+
+    /**
+     * 공지사항이 생성/수정/삭제되었을 때 호출합니다. 목록은 모두 비우고, id가 있으면 해당 공지만 제거합니다.
+     */
+    public void invalidate(Long id) {
+        clear(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear(id);
+                }
+            });
+        }
+    }
+
+    // 조회를 시작한 뒤 무효화가 없었을 때만 저장 (무효화와 같은 잠금으로 직렬화). TTL이 0 이하이면 저장하지 않음
+    private synchronized void storeIfCurrent(long loadGeneration, Runnable store) {
+        if (ttlNanos > 0 && generation.get() == loadGeneration) {
+            store.run();
+        }
+    }
+
+    // storeIfCurrent 잠금 안에서만 호출. 가득 찼으면 만료된 항목부터, 그래도 부족하면 임의의 항목을 내보냄
+    private <K, V> void put(Map<K, Entry<V>> map, K key, V value) {
+        if (!map.containsKey(key) && map.size() >= maxEntries) {
+            map.values().removeIf(entry -> !entry.isFresh());
+            Iterator<K> iterator = map.keySet().iterator();
+            while (map.size() >= maxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        map.put(key, newEntry(value));
+    }
+
+    private <V> Entry<V> newEntry(V value) {
+        return new Entry<>(value, System.nanoTime() + ttlNanos);
+    }
+
+    private static <V> V freshValue(Entry<V> entry) {
+        return entry != null && entry.isFresh() ? entry.value() : null;
+    }
+
+    private synchronized void clear(Long id) {
+        generation.incrementAndGet();
+        listValidators = null;
+        pages.clear();
+        if (id != null) {
+            announcements.remove(id);
+        }
+    }
+}
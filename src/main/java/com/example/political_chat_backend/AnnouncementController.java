@@ -9,11 +9,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort; // Sort 임포트 추가
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/announcements")
@@ -27,24 +29,45 @@ public class AnnouncementController {
     }
 
     /**
-     * 모든 공지사항 목록을 페이징하여 조회합니다. (누구나 접근 가능)
+     * 모든 공지사항 목록을 페이징하여 요약(본문 앞부분만)으로 조회합니다. (누구나 접근 가능)
      */
     @GetMapping
-    public ResponseEntity<Page<AnnouncementDto>> getAllAnnouncements(
-            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+    public ResponseEntity<Page<AnnouncementSummaryDto>> getAllAnnouncements(
+            @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest request) {
         //                                  ^^^^^^^^^^^^^^  ^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^
         //                                  sort 필드명만, direction으로 정렬 방향 지정
-        Page<AnnouncementDto> announcements = announcementService.getAllAnnouncements(pageable);
-        return ResponseEntity.ok(announcements);
+        // 검증값을 본문보다 먼저 구하므로, 그 사이 변경이 있어도 본문이 ETag보다 오래된 경우는 없음
+        AnnouncementCache.Validators validators = announcementService.getListValidators();
+        if (request.checkNotModified(validators.etag(), validators.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build(); // 304, 목록 조회 생략
+        }
+        Page<AnnouncementSummaryDto> announcements = announcementService.getAllAnnouncements(pageable);
+        return withValidators(validators).body(announcements);
     }
 
     /**
      * ID로 특정 공지사항을 조회합니다. (누구나 접근 가능)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<AnnouncementDto> getAnnouncementById(@PathVariable Long id) {
+    public ResponseEntity<AnnouncementDto> getAnnouncementById(@PathVariable Long id, WebRequest request) {
+        AnnouncementCache.Validators validators = announcementService.getAnnouncementValidators(id);
+        if (request.checkNotModified(validators.etag(), validators.lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build(); // 304, 본문 조회 생략
+        }
         AnnouncementDto announcementDto = announcementService.getAnnouncementById(id);
-        return ResponseEntity.ok(announcementDto);
+        return withValidators(validators).body(announcementDto);
+    }
+
+    // 브라우저가 저장은 하되 매번 재검증하도록 no-cache (Spring Security 기본값 no-store 대신)
+    private static ResponseEntity.BodyBuilder withValidators(AnnouncementCache.Validators validators) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(validators.etag())
+                .cacheControl(CacheControl.noCache());
+        if (validators.lastModifiedMillis() >= 0) {
+            builder.lastModified(validators.lastModifiedMillis());
+        }
+        return builder;
     }
 
     /**
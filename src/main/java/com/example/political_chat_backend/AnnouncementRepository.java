@@ -1,15 +1,42 @@
 package com.example.political_chat_backend;
 
 import com.example.political_chat_backend.Announcement;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-// 페이징 처리를 위해 Page, Pageable 임포트 (나중에 목록 조회 시 사용)
-// import org.springframework.data.domain.Page;
-// import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
 
 @Repository
 public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
 
+    /**
+     * 목록 전체의 변경 여부 판단용 집계 (공지 수, 가장 최근 수정 시각)
+     */
+    interface ListVersion {
+        long getCount();
+        LocalDateTime getLastUpdatedAt();
+    }
+
+    // 조건부 요청(ETag/Last-Modified) 확인용. 본문(TEXT)을 읽지 않음
+    @Query("SELECT COUNT(a) AS count, MAX(a.updatedAt) AS lastUpdatedAt FROM Announcement a")
+    ListVersion findListVersion();
+
+    @Query("SELECT a.updatedAt FROM Announcement a WHERE a.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    // 목록 조회용 요약. 본문은 DB에서 앞부분만 잘라 가져옴 (PostgreSQL은 TOAST 값도 앞부분만 풀어서 읽음)
+    // content는 @Lob(CLOB)으로 매핑되어 있어 substring 전에 String으로 CAST (PostgreSQL에서 text→varchar는 변환 비용 없음)
+    @Query(value = "SELECT new com.example.political_chat_backend.AnnouncementSummaryDto(" +
+                   "a.id, a.title, SUBSTRING(CAST(a.content AS String), 1, :headLength), a.author, a.createdAt, a.updatedAt) " +
+                   "FROM Announcement a",
+           countQuery = "SELECT COUNT(a) FROM Announcement a")
+    Page<AnnouncementSummaryDto> findSummaries(@Param("headLength") int headLength, Pageable pageable);
+
     // 필요에 따라 커스텀 쿼리 메소드 추가 가능
     // 예: 제목으로 검색 (페이징 포함)
     // Page<Announcement> findByTitleContainingIgnoreCase(String title, Pageable pageable);
@@ -6,6 +6,7 @@ import com.example.political_chat_backend.ResourceNotFoundException; // 사용
 import com.example.political_chat_backend.Announcement;
 import com.example.political_chat_backend.AnnouncementRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -17,21 +18,54 @@ import java.time.LocalDateTime; // 필요시 사용
 public class AnnouncementService {
 
     private final AnnouncementRepository announcementRepository;
+    private final AnnouncementCache announcementCache;
+    private final int excerptLength;
 
     @Autowired
-    public AnnouncementService(AnnouncementRepository announcementRepository) {
+    public AnnouncementService(AnnouncementRepository announcementRepository,
+                               AnnouncementCache announcementCache,
+                               @Value("${app.announcements.excerpt-length:200}") int excerptLength) {
         this.announcementRepository = announcementRepository;
+        this.announcementCache = announcementCache;
+        this.excerptLength = excerptLength;
     }
 
     /**
-     * 모든 공지사항을 페이징하여 조회합니다.
+     * 모든 공지사항을 페이징하여 요약(본문 앞부분만)으로 조회합니다. 앞쪽 몇 페이지는 캐시에서 반환합니다.
      * @param pageable 페이징 정보
-     * @return 페이징된 공지사항 DTO 목록
+     * @return 페이징된 공지사항 요약 목록
      */
     @Transactional(readOnly = true)
-    public Page<AnnouncementDto> getAllAnnouncements(Pageable pageable) {
-        Page<Announcement> announcementsPage = announcementRepository.findAll(pageable);
-        return announcementsPage.map(AnnouncementDto::fromEntity); // 엔티티를 DTO로 변환
+    public Page<AnnouncementSummaryDto> getAllAnnouncements(Pageable pageable) {
+        return announcementCache.getPage(pageable, () ->
+                announcementRepository.findSummaries(excerptLength + 1, pageable)
+                        .map(summary -> summary.limitExcerpt(excerptLength)));
+    }
+
+    /**
+     * 공지사항 목록의 조건부 요청 검증값 (캐시에 없으면 집계 쿼리 한 번, 본문 조회 없음)
+     */
+    @Transactional(readOnly = true)
+    public AnnouncementCache.Validators getListValidators() {
+        return announcementCache.getListValidators(() -> {
+            AnnouncementRepository.ListVersion version = announcementRepository.findListVersion();
+            return AnnouncementCache.Validators.ofList(version.getCount(), version.getLastUpdatedAt());
+        });
+    }
+
+    /**
+     * 공지사항 하나의 조건부 요청 검증값 (캐시에 없으면 updatedAt만 조회, 본문 조회 없음)
+     * @throws ResourceNotFoundException 해당 ID의 공지사항이 없을 경우
+     */
+    @Transactional(readOnly = true)
+    public AnnouncementCache.Validators getAnnouncementValidators(Long id) {
+        AnnouncementCache.Validators cached = announcementCache.peekAnnouncementValidators(id);
+        if (cached != null) {
+            return cached;
+        }
+        LocalDateTime updatedAt = announcementRepository.findUpdatedAtById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Announcement not found with id: " + id));
+        return AnnouncementCache.Validators.ofAnnouncement(id, updatedAt);
     }
 
     /**
@@ -42,9 +76,11 @@ public class AnnouncementService {
      */
     @Transactional(readOnly = true)
     public AnnouncementDto getAnnouncementById(Long id) {
-        Announcement announcement = announcementRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Announcement not found with id: " + id));
-        return AnnouncementDto.fromEntity(announcement);
+        return announcementCache.getAnnouncement(id, () -> {
+            Announcement announcement = announcementRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Announcement not found with id: " + id));
+            return AnnouncementDto.fromEntity(announcement);
+        });
     }
 
     /**
@@ -62,6 +98,7 @@ public class AnnouncementService {
         // createdAt, updatedAt은 @CreationTimestamp, @UpdateTimestamp에 의해 자동 관리
 
         Announcement savedAnnouncement = announcementRepository.save(announcement);
+        announcementCache.invalidate(null);
         return AnnouncementDto.fromEntity(savedAnnouncement);
     }
 
@@ -87,7 +124,8 @@ public class AnnouncementService {
         // updatedAt은 @UpdateTimestamp에 의해 자동 업데이트됨
         // author는 최초 작성자를 유지하거나, 'lastModifiedBy' 필드를 따로 둘 수 있습니다. 여기서는 원본 author 유지.
 
-        Announcement updatedAnnouncement = announcementRepository.save(announcement);
+        Announcement updatedAnnouncement = announcementRepository.saveAndFlush(announcement); // @UpdateTimestamp 반영 후 반환
+        announcementCache.invalidate(id);
         return AnnouncementDto.fromEntity(updatedAnnouncement);
     }
 
@@ -106,5 +144,6 @@ public class AnnouncementService {
         // 지금은 컨트롤러에서 ADMIN 역할만 이 메소드를 호출한다고 가정합니다.
 
         announcementRepository.delete(announcement);
+        announcementCache.invalidate(id);
     }
 }
@@ -0,0 +1,69 @@
+package com.example.political_chat_backend;
+
+import java.time.LocalDateTime;
+
+/**
+ * 공지사항 목록 응답 (GET /api/announcements).
+ * 본문(TEXT) 전체 대신 SQL에서 잘라 온 앞부분(excerpt)만 담습니다. 전체 본문은 GET /api/announcements/{id}로 조회합니다.
+ */
+public class AnnouncementSummaryDto {
+    private Long id;
+    private String title;
+    private String excerpt;     // 본문 앞부분 (최대 excerptLength자)
+    private boolean truncated;  // 본문이 excerpt보다 길면 true
+    private String author;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // 기본 생성자
+    public AnnouncementSummaryDto() {}
+
+    // 목록 쿼리(AnnouncementRepository.findSummaries)용 생성자. contentHead는 SQL에서 잘라 온 본문 앞부분
+    public AnnouncementSummaryDto(Long id, String title, String contentHead, String author,
+                                  LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = contentHead;
+        this.author = author;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * excerpt를 maxLength자로 자릅니다. 쿼리는 잘림 여부를 알 수 있도록 maxLength + 1자를 가져옵니다.
+     */
+    public AnnouncementSummaryDto limitExcerpt(int maxLength) {
+        if (excerpt != null && excerpt.length() > maxLength) {
+            int end = maxLength;
+            // 서로게이트 쌍(이모지 등) 중간에서 자르지 않도록
+            if (end > 0 && Character.isHighSurrogate(excerpt.charAt(end - 1))) {
+                end--;
+            }
+            excerpt = excerpt.substring(0, end);
+            truncated = true;
+        }
+        return this;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getExcerpt() { return excerpt; }
+    public void setExcerpt(String excerpt) { this.excerpt = excerpt; }
+
+    public boolean isTruncated() { return truncated; }
+    public void setTruncated(boolean truncated) { this.truncated = truncated; }
+
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,6 +1,7 @@
 package com.example.political_chat_backend;
 
 import com.example.political_chat_backend.UserDetailsServiceImpl; // 실제 경로로 수정
+import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,22 +27,34 @@ public class AuthChannelInterceptor implements ChannelInterceptor {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private ChatMetrics chatMetrics;
+
     @Override
     public Message<?> preSend(Message<?> message, MessageChannel channel) {
         StompHeaderAccessor accessor =
                 MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
 
+        if (accessor != null && accessor.getCommand() != null) {
+            chatMetrics.recordStompFrame(accessor.getCommand().name());
+        }
+
         if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
             // nativeHeaders는 STOMP JS 클라이언트가 connectHeaders에 설정한 값을 포함합니다.
             String authorizationHeader = accessor.getFirstNativeHeader("Authorization");
-            logger.info("STOMP CONNECT attempt. Authorization header: {}", authorizationHeader);
+            logger.debug("STOMP CONNECT attempt. Session: {}", accessor.getSessionId()); // 토큰은 로그에 남기지 않음
 
             if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
                 String jwt = authorizationHeader.substring(7);
                 try {
-                    if (jwtUtils.validateJwtToken(jwt)) {
-                        String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    Claims claims = jwtUtils.parseVerifiedClaims(jwt); // 한 번만 파싱/검증
+                    if (claims != null) {
+                        String username = claims.getSubject();
+                        // 검증된 claims로 바로 인증 (역할 claim이 없는 이전 토큰만 DB 조회)
+                        UserDetails userDetails = jwtUtils.buildUserDetailsFromClaims(claims);
+                        if (userDetails == null) {
+                            userDetails = userDetailsService.loadCachedUserByUsername(username);
+                        }
 
                         UsernamePasswordAuthenticationToken authentication =
                                 new UsernamePasswordAuthenticationToken(
@@ -49,7 +62,7 @@ public class AuthChannelInterceptor implements ChannelInterceptor {
 
                         // 이 부분이 WebSocket 세션에 인증된 사용자(Principal)를 설정하는 핵심입니다.
                         accessor.setUser(authentication);
-                        logger.info("User '{}' authenticated successfully for WebSocket session via STOMP CONNECT. Principal set.", username);
+                        logger.debug("User '{}' authenticated successfully for WebSocket session via STOMP CONNECT. Principal set.", username);
                     } else {
                         logger.warn("Invalid JWT token provided in STOMP CONNECT header. Authentication failed.");
                         // 여기서 AuthenticationException을 발생시켜 연결을 명시적으로 거부할 수 있습니다.
@@ -70,8 +83,9 @@ public class AuthChannelInterceptor implements ChannelInterceptor {
             if (accessor.getUser() == null) {
                 logger.warn("Attempt to {} without proper authentication on STOMP session. User: {}", accessor.getCommand(), accessor.getUser());
                 // throw new AuthenticationException("Not authenticated for " + accessor.getCommand());
-            } else {
-                logger.info("User '{}' attempting to {}. Destination: {}", accessor.getUser().getName(), accessor.getCommand(), accessor.getDestination());
+            } else if (logger.isDebugEnabled() && chatMetrics.sampleLog()) {
+                // 프레임마다 로그를 남기지 않고 샘플링 (프레임 수는 stomp.inbound.frames 지표로 집계)
+                logger.debug("User '{}' attempting to {}. Destination: {}", accessor.getUser().getName(), accessor.getCommand(), accessor.getDestination());
             }
         }
         return message;
@@ -82,8 +82,10 @@ public class AuthController {
         //       User fullUser = userRepository.findByUsername(userDetails.getUsername()).orElse(null);
         //       Long userId = (fullUser != null) ? fullUser.getId() : null;
 
+        Long userId = (userDetails instanceof UserDetailsImpl impl) ? impl.getId() : null;
+
         return ResponseEntity.ok(new JwtResponseDto(jwt,
-                null, // 여기에 사용자 ID를 넣을 수 있으면 좋습니다. (예: UserDetailsImpl에서 가져오거나 DB 재조회)
+                userId, // UserDetailsImpl에 담긴 사용자 ID
                 userDetails.getUsername(),
                 roles));
     }
@@ -1,6 +1,7 @@
 package com.example.political_chat_backend;
 
 import com.example.political_chat_backend.UserDetailsServiceImpl; // UserDetailsServiceImpl 임포트
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,6 +13,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter; // OncePerRequestFilter 임포트
 
@@ -29,15 +31,35 @@ public class AuthTokenFilter extends OncePerRequestFilter { // OncePerRequestFil
 
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    // 최신 역할 정보가 필요한 요청 (SecurityConfig에서 관리자 권한 규칙과 함께 정의)
+    private final RequestMatcher freshRolesRequests;
+
+    public AuthTokenFilter(RequestMatcher freshRolesRequests) {
+        this.freshRolesRequests = freshRolesRequests;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
+            // 토큰은 한 번만 파싱/검증하고, 검증된 claims에서 사용자 이름을 꺼냅니다.
+            Claims claims = (jwt != null) ? jwtUtils.parseVerifiedClaims(jwt) : null;
+            if (claims != null) {
+                String username = claims.getSubject();
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                // 토큰에 담긴 역할 claim으로 바로 인증 객체를 만들어 DB 조회를 생략합니다.
+                // 최신 역할이 필요한 요청은 캐시 없이 DB에서 조회하고 (강등된 관리자가 캐시 TTL 동안 권한을 유지하지 않도록),
+                // 역할 claim이 없는 이전 토큰은 짧은 TTL 캐시를 거쳐 DB에서 조회합니다.
+                UserDetails userDetails;
+                if (freshRolesRequests.matches(request)) {
+                    userDetails = userDetailsService.loadUserByUsername(username);
+                } else {
+                    userDetails = jwtUtils.buildUserDetailsFromClaims(claims);
+                    if (userDetails == null) {
+                        userDetails = userDetailsService.loadCachedUserByUsername(username);
+                    }
+                }
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -0,0 +1,81 @@
+package com.example.political_chat_backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 카테고리 목록(GET /api/categories) 응답 캐시.
+ * 목록 전체를 하나의 불변 스냅샷으로 짧은 TTL 동안 보관하고, 카테고리/방이 생성되거나 삭제되면 무효화합니다.
+ * 접속자 합계는 TTL 동안만 이전 값이 보일 수 있습니다.
+ */
+@Component
+public class CategoryListingCache {
+
+    private record Snapshot(List<CategorySummaryDto> categories, long expiresAtNanos) {}
+
+    private final long ttlNanos;
+
+    private volatile Snapshot snapshot;
+    // 무효화될 때마다 증가. 무효화 이전에 시작된 조회 결과가 캐시에 저장되지 않도록 비교합니다.
+    private final AtomicLong generation = new AtomicLong();
+    private final Object loadLock = new Object();
+
+    @Autowired
+    public CategoryListingCache(@Value("${app.chat.category-listing.cache-ttl-ms:5000}") long ttlMs) {
+        this.ttlNanos = ttlMs * 1_000_000L;
+    }
+
+    /**
+     * 캐시된 목록을 반환하고, 없거나 만료되었으면 loader로 다시 만듭니다. (동시에 한 번만 조회)
+     */
+    public List<CategorySummaryDto> get(Supplier<List<CategorySummaryDto>> loader) {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current.categories();
+        }
+        synchronized (loadLock) {
+            current = snapshot;
+            if (isFresh(current)) {
+                return current.categories();
+            }
+            long loadGeneration = generation.get();
+            List<CategorySummaryDto> categories = List.copyOf(loader.get());
+            if (ttlNanos > 0 && generation.get() == loadGeneration) {
+                snapshot = new Snapshot(categories, System.nanoTime() + ttlNanos);
+            }
+            return categories;
+        }
+    }
+
+    /**
+     * 카테고리/방 생성·삭제 시 호출합니다.
+     * 즉시 비우고, 트랜잭션 안이라면 커밋 이후에 한 번 더 비워 커밋 전 값으로 다시 채워진 캐시를 버립니다.
+     */
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && current.expiresAtNanos() - System.nanoTime() > 0;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.political_chat_backend;
+
+import java.time.LocalDateTime;
+
+/**
+ * 카테고리 목록 응답 (GET /api/categories).
+ * 방 목록 대신 방 수와 현재 접속자 합계만 담습니다.
+ * 방 수까지는 집계 쿼리의 생성자 표현식으로 채우고, 접속자 합계는 메모리의 접속자 레지스트리에서 채웁니다.
+ */
+public class CategorySummaryDto {
+    private String categoryId;
+    private String name;
+    private String description;
+    private LocalDateTime createdAt;
+    private long roomCount;     // 카테고리에 속한 채팅방 수
+    private long liveUserCount; // 카테고리 전체 방의 현재 접속자 수 합계
+
+    // 기본 생성자
+    public CategorySummaryDto() {}
+
+    // 집계 쿼리(ChatRoomRepository.findCategorySummaries)용 생성자
+    public CategorySummaryDto(String categoryId, String name, String description, LocalDateTime createdAt, long roomCount) {
+        this.categoryId = categoryId;
+        this.name = name;
+        this.description = description;
+        this.createdAt = createdAt;
+        this.roomCount = roomCount;
+    }
+
+    // Getters and Setters
+    public String getCategoryId() { return categoryId; }
+    public void setCategoryId(String categoryId) { this.categoryId = categoryId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public long getRoomCount() { return roomCount; }
+    public void setRoomCount(long roomCount) { this.roomCount = roomCount; }
+
+    public long getLiveUserCount() { return liveUserCount; }
+    public void setLiveUserCount(long liveUserCount) { this.liveUserCount = liveUserCount; }
+}
@@ -11,8 +11,6 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Set;
-import java.util.Optional;
 
 @Service
 public class ChatAdminService {
@@ -22,14 +20,17 @@ public class ChatAdminService {
     private final SimpMessagingTemplate messagingTemplate;
     private final ChatRoomUserService chatRoomUserService;
     private final ChatRoomService chatRoomService; // 방 정보를 가져오기 위해 주입
+    private final PresenceBroadcaster presenceBroadcaster;
 
     @Autowired
     public ChatAdminService(SimpMessagingTemplate messagingTemplate,
                             ChatRoomUserService chatRoomUserService,
-                            ChatRoomService chatRoomService) {
+                            ChatRoomService chatRoomService,
+                            PresenceBroadcaster presenceBroadcaster) {
         this.messagingTemplate = messagingTemplate;
         this.chatRoomUserService = chatRoomUserService;
         this.chatRoomService = chatRoomService;
+        this.presenceBroadcaster = presenceBroadcaster;
     }
 
     @Transactional
@@ -53,8 +54,9 @@ public class ChatAdminService {
         kickNotificationToUser.setSender("SYSTEM");
 
         // 방 이름을 가져와서 메시지에 포함 (더 친절한 알림)
-        Optional<ChatRoomDto> roomDtoOpt = chatRoomService.findChatRoomDtoById(roomId);
-        String roomNameForNotification = roomDtoOpt.map(ChatRoomDto::getName).orElse(roomId); // 방 이름이 없으면 ID 사용
+        String roomNameForNotification = chatRoomService.findRoomMetadata(roomId)
+                .map(ChatRoomMetadataCache.RoomMetadata::name)
+                .orElse(roomId); // 방 이름이 없으면 ID 사용
 
         kickNotificationToUser.setContent("채팅방 [" + roomNameForNotification + "] 에서 강퇴되었습니다. (관리자: " + kickerUsername + ")");
 
@@ -75,18 +77,12 @@ public class ChatAdminService {
         logger.info("SYSTEM (KICK broadcast) message sent to room '{}' about user '{}'", roomId, usernameToKick);
 
         // ChatRoomUserService에서 사용자 제거
-        chatRoomUserService.removeUserFromRoom(roomId, usernameToKick);
+        ChatRoomUserService.PresenceUpdate presenceUpdate = chatRoomUserService.removeUserFromRoom(roomId, usernameToKick);
         logger.info("User '{}' removed from active list for room '{}'", usernameToKick, roomId);
 
-        // 참여자 목록 업데이트 메시지 전송
-        Set<String> currentUsersInRoom = chatRoomUserService.getUsersInRoom(roomId);
-        ChatMessage userListUpdateMessage = new ChatMessage();
-        userListUpdateMessage.setType(ChatMessage.MessageType.USER_LIST_UPDATE);
-        userListUpdateMessage.setRoomId(roomId);
-        userListUpdateMessage.setUsers(currentUsersInRoom);
-        userListUpdateMessage.setUserCount(currentUsersInRoom.size());
-        messagingTemplate.convertAndSend("/topic/room/" + roomId, userListUpdateMessage);
-        logger.info("User list update sent to room '{}'. Current users: {}", roomId, currentUsersInRoom);
+        // 참여자 변경분 전송 (전체 목록 대신)
+        presenceBroadcaster.broadcastChange(presenceUpdate);
+        logger.info("Presence delta sent to room '{}'.", roomId);
 
         logger.info("User '{}' kick process completed for room '{}'.", usernameToKick, roomId);
     }
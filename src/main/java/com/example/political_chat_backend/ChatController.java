@@ -2,48 +2,64 @@ package com.example.political_chat_backend; // 패키지 선언은 사용자님
 
 import com.example.political_chat_backend.ChatRoom; // ChatRoom 임포트
 import com.example.political_chat_backend.ChatMessage; // ChatMessage 임포트
-import com.example.political_chat_backend.PersistedChatMessageRepository; // PersistedChatMessageRepository 임포트
+import com.example.political_chat_backend.ChatMessagePersistenceService; // ChatMessagePersistenceService 임포트
 import com.example.political_chat_backend.ChatRoomService; // ChatRoomService 임포트
 import com.example.political_chat_backend.ChatRoomUserService; // ChatRoomUserService 임포트
+import com.example.political_chat_backend.RecentMessageService; // RecentMessageService 임포트
+import com.example.political_chat_backend.ChatRateLimiter; // ChatRateLimiter 임포트
+import com.example.political_chat_backend.PresenceBroadcaster; // PresenceBroadcaster 임포트
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.event.EventListener;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
-import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 import java.security.Principal; // Principal 임포트
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Controller
 public class ChatController {
 
-    private final PersistedChatMessageRepository persistedChatMessageRepository;
+    private static final Logger logger = LoggerFactory.getLogger(ChatController.class);
+
+    private final ChatMessagePersistenceService chatMessagePersistenceService;
     private final SimpMessagingTemplate messagingTemplate;
     private final ChatRoomService chatRoomService;
     private final ChatRoomUserService chatRoomUserService;
-
-    private final Map<String, LocalDateTime> lastMessageTimes = new ConcurrentHashMap<>();
-    private static final long CHAT_COOLDOWN_SECONDS = 5;
+    private final RecentMessageService recentMessageService;
+    private final ChatRateLimiter chatRateLimiter;
+    private final PresenceBroadcaster presenceBroadcaster;
+    private final SessionMessageSender sessionMessageSender;
+    private final RoomLifecycleManager roomLifecycleManager;
+    private final ChatMetrics chatMetrics;
 
     @Autowired
-    public ChatController(PersistedChatMessageRepository persistedChatMessageRepository,
+    public ChatController(ChatMessagePersistenceService chatMessagePersistenceService,
                           SimpMessagingTemplate messagingTemplate,
                           ChatRoomService chatRoomService,
-                          ChatRoomUserService chatRoomUserService) {
-        this.persistedChatMessageRepository = persistedChatMessageRepository;
+                          ChatRoomUserService chatRoomUserService,
+                          RecentMessageService recentMessageService,
+                          ChatRateLimiter chatRateLimiter,
+                          PresenceBroadcaster presenceBroadcaster,
+                          SessionMessageSender sessionMessageSender,
+                          RoomLifecycleManager roomLifecycleManager,
+                          ChatMetrics chatMetrics) {
+        this.chatMessagePersistenceService = chatMessagePersistenceService;
         this.messagingTemplate = messagingTemplate;
         this.chatRoomService = chatRoomService;
         this.chatRoomUserService = chatRoomUserService;
+        this.recentMessageService = recentMessageService;
+        this.chatRateLimiter = chatRateLimiter;
+        this.presenceBroadcaster = presenceBroadcaster;
+        this.sessionMessageSender = sessionMessageSender;
+        this.roomLifecycleManager = roomLifecycleManager;
+        this.chatMetrics = chatMetrics;
     }
 
     @MessageMapping("/chat.addUser/{roomId}")
@@ -55,125 +71,109 @@ public class ChatController {
         String username = (principal != null) ? principal.getName() : chatMessage.getSender();
         chatMessage.setSender(username); // 발신자를 인증된 사용자로 설정
 
-        Map<String, Object> sessionAttributes = headerAccessor.getSessionAttributes();
-        if (sessionAttributes != null) {
-            sessionAttributes.put("username", username);
-            sessionAttributes.put("roomId", roomId);
-        } else {
-            System.err.println("ChatController: SessionAttributes is null for user " + username + " in room " + roomId);
+        // 접속 정보는 세션 ID 기준으로 레지스트리에 기록합니다. (세션 속성에 방을 저장하지 않으므로 한 세션이 여러 방에 입장 가능)
+        ChatRoomUserService.PresenceUpdate presenceUpdate;
+        try {
+            presenceUpdate = chatRoomUserService.joinRoom(headerAccessor.getSessionId(), roomId);
+        } catch (IllegalStateException e) {
+            // 인증 없이 연결했거나, 연결 종료 뒤에 처리된 입장 프레임
+            logger.debug("Ignoring join of room {} by {}: {}", roomId, username, e.getMessage());
+            return;
         }
+        roomLifecycleManager.handleUserJoined(roomId, username); // 빈 방 삭제 예정이었다면 취소
+        if (presenceUpdate != null) { // 같은 사용자의 다른 탭이 이미 접속 중이면 입장 알림 생략
+            chatMessage.setType(ChatMessage.MessageType.JOIN);
+            chatMessage.setContent(username + " 님이 입장했습니다.");
+            chatMessage.setRoomId(roomId);
+
+            messagingTemplate.convertAndSend("/topic/room/" + roomId, chatMessage);
+            // 방에는 변경분만 브로드캐스트하고, 전체 목록은 입장한 세션에게만 보냅니다.
+            presenceBroadcaster.broadcastChange(presenceUpdate);
+        }
+        presenceBroadcaster.sendSnapshot(roomId, username, headerAccessor.getSessionId());
+        replayRecentMessages(roomId, username, headerAccessor.getSessionId());
+        logger.debug("User added to room {}: {} (Session ID: {})", roomId, username, headerAccessor.getSessionId());
+    }
 
-        chatRoomUserService.addUserToRoom(roomId, username);
-        chatMessage.setType(ChatMessage.MessageType.JOIN);
-        chatMessage.setContent(username + " 님이 입장했습니다.");
-        chatMessage.setRoomId(roomId);
+    /**
+     * 연결을 유지한 채 특정 방에서만 나갑니다. 같은 사용자의 다른 세션이 남아 있으면 퇴장으로 처리하지 않습니다.
+     */
+    @MessageMapping("/chat.leaveRoom/{roomId}")
+    public void leaveRoom(@DestinationVariable String roomId,
+                          SimpMessageHeaderAccessor headerAccessor) {
+        ChatRoomUserService.PresenceUpdate presenceUpdate = chatRoomUserService.leaveRoom(headerAccessor.getSessionId(), roomId);
+        roomLifecycleManager.handleUserLeft(presenceUpdate);
+    }
 
-        messagingTemplate.convertAndSend("/topic/room/" + roomId, chatMessage);
-        broadcastUserList(roomId);
-        System.out.println("User added to room " + roomId + ": " + username + " (Session ID: " + headerAccessor.getSessionId() + ")");
+    /**
+     * 클라이언트가 접속자 목록 버전 차이(누락된 변경분)를 감지했을 때 전체 목록을 다시 요청합니다.
+     * 응답은 요청한 세션의 /user/queue/presence 로 전달됩니다.
+     */
+    @MessageMapping("/chat.presence/{roomId}")
+    public void requestPresenceSnapshot(@DestinationVariable String roomId,
+                                        SimpMessageHeaderAccessor headerAccessor,
+                                        Principal principal) {
+        if (principal == null) {
+            return;
+        }
+        presenceBroadcaster.sendSnapshot(roomId, principal.getName(), headerAccessor.getSessionId());
     }
 
     @MessageMapping("/chat.sendMessage/{roomId}")
     public void sendMessage(@Payload ChatMessage chatMessage,
                             @DestinationVariable String roomId,
+                            SimpMessageHeaderAccessor headerAccessor,
                             Principal principal) { // Principal 추가
         // Principal에서 사용자 이름을 가져오는 것이 더 안전합니다.
         String sender = (principal != null) ? principal.getName() : chatMessage.getSender();
         chatMessage.setSender(sender); // 발신자를 인증된 사용자로 설정
 
-        LocalDateTime currentTime = LocalDateTime.now();
         boolean isOwner = isRoomOwner(sender, roomId); // 방장 여부 확인 (isModerator 대신 isRoomOwner 사용)
 
-        if (!isOwner) {
-            LocalDateTime lastMessageTime = lastMessageTimes.get(sender + ":" + roomId);
-            if (lastMessageTime != null) {
-                long secondsSinceLastMessage = ChronoUnit.SECONDS.between(lastMessageTime, currentTime);
-                if (secondsSinceLastMessage < CHAT_COOLDOWN_SECONDS) {
-                    System.out.println("쿨다운 적용 (방: " + roomId + "): " + sender + " 님은 " + (CHAT_COOLDOWN_SECONDS - secondsSinceLastMessage) + "초 후에 메시지를 보낼 수 있습니다.");
-                    // 클라이언트에게 쿨다운 알림 메시지 전송 로직 (선택 사항)
-                    return;
-                }
+        if (!isOwner) { // 방장은 쿨다운 면제
+            long waitNanos = chatRateLimiter.tryAcquire(roomId, sender);
+            if (waitNanos > 0) {
+                long waitSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+                chatMetrics.recordCooldownRejection();
+                sendCooldownNotice(roomId, sender, headerAccessor.getSessionId(), waitSeconds);
+                return;
             }
-            lastMessageTimes.put(sender + ":" + roomId, currentTime);
-        } else {
-            System.out.println("방장(" + sender + ")은 쿨다운 면제됩니다 (방: " + roomId + ").");
         }
 
         chatMessage.setRoomId(roomId);
+        // 브로드캐스트를 먼저 하고, DB 저장은 write-behind 큐에 맡깁니다 (STOMP 스레드에서 DB 왕복 제거)
+        long fanOutStart = System.nanoTime();
+        messagingTemplate.convertAndSend("/topic/room/" + roomId, chatMessage);
+        chatMetrics.recordFanOut(System.nanoTime() - fanOutStart);
+        chatMetrics.recordMessageSent(roomId);
+        recentMessageService.append(roomId, chatMessage);
+        if (logger.isDebugEnabled() && chatMetrics.sampleLog()) {
+            logger.debug("Message from {} broadcast to room {}", sender, roomId);
+        }
+
         PersistedChatMessage messageToSave = new PersistedChatMessage(
+                roomId,
                 sender,
                 chatMessage.getContent(),
                 chatMessage.getType() != null ? chatMessage.getType() : ChatMessage.MessageType.CHAT
         );
-        persistedChatMessageRepository.save(messageToSave);
-        System.out.println("메시지 저장됨 (방 ID: " + roomId + "): ID=" + messageToSave.getId() + ", 발신자=" + sender + ", 내용=" + messageToSave.getContent());
-
-        messagingTemplate.convertAndSend("/topic/room/" + roomId, chatMessage);
+        chatMessagePersistenceService.enqueue(messageToSave);
     }
 
-    @EventListener
-    public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
-        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
-        Map<String, Object> sessionAttributes = headerAccessor.getSessionAttributes();
+    // 쿨다운으로 거부된 메시지를 보낸 세션에게 남은 시간을 알림 (/user/queue/private)
+    private void sendCooldownNotice(String roomId, String sender, String sessionId, long waitSeconds) {
+        ChatMessage notice = new ChatMessage("SYSTEM", waitSeconds + "초 후에 메시지를 보낼 수 있습니다.", ChatMessage.MessageType.SYSTEM, roomId);
+        sessionMessageSender.sendToSession(sender, sessionId, "/queue/private", notice);
+    }
 
-        if (sessionAttributes == null) {
-            System.err.println("ChatController (Disconnect): SessionAttributes is null. SessionId: " + headerAccessor.getSessionId());
+    // 입장한 세션에게만 최근 메시지를 한 번에 전송 (/user/queue/history)
+    private void replayRecentMessages(String roomId, String username, String sessionId) {
+        List<ChatMessage> recentMessages = recentMessageService.getRecentMessages(roomId);
+        if (recentMessages.isEmpty()) {
             return;
         }
-
-        String username = (String) sessionAttributes.get("username");
-        String roomId = (String) sessionAttributes.get("roomId");
-
-        if (username != null && roomId != null) {
-            System.out.println("User Disconnected Event: " + username + " from room: " + roomId + " (Session ID: " + headerAccessor.getSessionId() + ")");
-
-            boolean actuallyRemoved = chatRoomUserService.removeUserFromRoom(roomId, username);
-
-            if (actuallyRemoved) { // 실제로 목록에서 제거된 경우에만 후속 처리
-                // 방장 여부 확인 및 방이 비었는지 확인
-                boolean wasOwner = isRoomOwner(username, roomId);
-                int remainingUsers = chatRoomUserService.countUsersInRoom(roomId);
-
-                if (wasOwner && remainingUsers == 0) {
-                    System.out.println("Owner " + username + " left room " + roomId + " and it's now empty. Deleting room.");
-                    chatRoomService.deleteRoom(roomId); // ChatRoomService에 deleteRoom 메소드 필요
-                    System.out.println("Room " + roomId + " deleted.");
-                    // 방이 삭제되었으므로, 이 방에 대한 LEAVE 나 USER_LIST_UPDATE 메시지는 보낼 필요 없음
-                } else {
-                    // 방이 삭제되지 않은 경우 (방장이 아니었거나, 방장이 나갔지만 다른 사용자가 남음)
-                    // LEAVE 메시지 브로드캐스팅
-                    ChatMessage leaveMessage = new ChatMessage();
-                    leaveMessage.setType(ChatMessage.MessageType.LEAVE);
-                    leaveMessage.setSender(username);
-                    leaveMessage.setContent(username + " 님이 퇴장했습니다.");
-                    leaveMessage.setRoomId(roomId);
-                    messagingTemplate.convertAndSend("/topic/room/" + roomId, leaveMessage);
-
-                    // 사용자 목록 및 인원 수 다시 브로드캐스트
-                    broadcastUserList(roomId);
-                }
-            } else {
-                System.out.println("User " + username + " was not in active list for room " + roomId + " or already removed.");
-            }
-        } else {
-            System.out.println("ChatController (Disconnect): Username or RoomID not found in session attributes. SessionId: " + headerAccessor.getSessionId());
-        }
-    }
-
-    private void broadcastUserList(String roomId) {
-        Set<String> usersInRoom = chatRoomUserService.getUsersInRoom(roomId);
-        int userCount = usersInRoom.size();
-
-        ChatMessage userListMessage = new ChatMessage();
-        userListMessage.setType(ChatMessage.MessageType.USER_LIST_UPDATE);
-        userListMessage.setRoomId(roomId);
-        userListMessage.setSender("System");
-        userListMessage.setContent("사용자 목록 업데이트");
-        userListMessage.setUsers(usersInRoom);
-        userListMessage.setUserCount(userCount);
-
-        System.out.println("Broadcasting user list for room " + roomId + ": " + usersInRoom + " (Count: " + userCount + ")");
-        messagingTemplate.convertAndSend("/topic/room/" + roomId, userListMessage);
+        // 같은 사용자의 다른 탭이 아닌, 입장한 세션으로만 전달
+        sessionMessageSender.sendToSession(username, sessionId, "/queue/history", recentMessages);
     }
 
     // isModerator 대신 isRoomOwner로 명칭 변경 (ChatRoomService의 메소드와 일관성)
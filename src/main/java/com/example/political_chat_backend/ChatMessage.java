@@ -1,7 +1,11 @@
 package com.example.political_chat_backend;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
 import java.util.Set;
 
+@JsonInclude(JsonInclude.Include.NON_NULL) // 사용하지 않는 필드(null)는 프레임에 싣지 않음
 public class ChatMessage {
 
     private String sender;    // 메시지를 보낸 사람
@@ -10,12 +14,17 @@ public class ChatMessage {
     private String roomId;
     private Set<String> users; // 현재 사용자 목록 (USER_LIST_UPDATE 메시지용)
     private int userCount;     // 현재 사용자 수 (USER_LIST_UPDATE 메시지용)
+    private Long presenceVersion;     // 접속자 목록 버전 (PRESENCE_DELTA / USER_LIST_UPDATE 메시지용)
+    private Long presenceBaseVersion; // 이 변경이 적용되는 이전 버전 (클라이언트 버전과 다르면 스냅샷 재요청)
+    private List<String> joinedUsers; // 입장한 사용자 (PRESENCE_DELTA 메시지용, 대규모 방에서는 null)
+    private List<String> leftUsers;   // 퇴장한 사용자 (PRESENCE_DELTA 메시지용, 대규모 방에서는 null)
     // 메시지 타입을 위한 Enum (선택 사항이지만, 메시지 종류를 구분할 때 유용)
     public enum MessageType {
         CHAT,
         JOIN,
         LEAVE,
-        USER_LIST_UPDATE, // 사용자 목록/인원수 업데이트용 타입 추가
+        USER_LIST_UPDATE, // 사용자 목록/인원수 업데이트용 타입 추가 (전체 스냅샷)
+        PRESENCE_DELTA,   // 입장/퇴장 변경분만 전달 (버전 포함)
         KICK,
         SYSTEM
     }
@@ -68,4 +77,12 @@ public class ChatMessage {
     public void setUsers(Set<String> users) { this.users = users; }
     public int getUserCount() { return userCount; }
     public void setUserCount(int userCount) { this.userCount = userCount; }
+    public Long getPresenceVersion() { return presenceVersion; }
+    public void setPresenceVersion(Long presenceVersion) { this.presenceVersion = presenceVersion; }
+    public Long getPresenceBaseVersion() { return presenceBaseVersion; }
+    public void setPresenceBaseVersion(Long presenceBaseVersion) { this.presenceBaseVersion = presenceBaseVersion; }
+    public List<String> getJoinedUsers() { return joinedUsers; }
+    public void setJoinedUsers(List<String> joinedUsers) { this.joinedUsers = joinedUsers; }
+    public List<String> getLeftUsers() { return leftUsers; }
+    public void setLeftUsers(List<String> leftUsers) { this.leftUsers = leftUsers; }
 }
@@ -0,0 +1,59 @@
+package com.example.political_chat_backend;
+
+import java.time.LocalDateTime;
+
+public class ChatMessageHistoryDto {
+    private Long id;
+    private String roomId;
+    private String sender;
+    private String content;
+    private ChatMessage.MessageType type;
+    private LocalDateTime timestamp;
+
+    // 기본 생성자
+    public ChatMessageHistoryDto() {}
+
+    public ChatMessageHistoryDto(Long id, String roomId, String sender, String content,
+                                 ChatMessage.MessageType type, LocalDateTime timestamp) {
+        this.id = id;
+        this.roomId = roomId;
+        this.sender = sender;
+        this.content = content;
+        this.type = type;
+        this.timestamp = timestamp;
+    }
+
+    // PersistedChatMessage 엔티티를 ChatMessageHistoryDto로 변환하는 정적 메소드
+    public static ChatMessageHistoryDto fromEntity(PersistedChatMessage message) {
+        if (message == null) {
+            return null;
+        }
+        return new ChatMessageHistoryDto(
+                message.getId(),
+                message.getRoomId(),
+                message.getSender(),
+                message.getContent(),
+                message.getMessageType(),
+                message.getTimestamp()
+        );
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getRoomId() { return roomId; }
+    public void setRoomId(String roomId) { this.roomId = roomId; }
+
+    public String getSender() { return sender; }
+    public void setSender(String sender) { this.sender = sender; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public ChatMessage.MessageType getType() { return type; }
+    public void setType(ChatMessage.MessageType type) { this.type = type; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
@@ -0,0 +1,30 @@
+package com.example.political_chat_backend;
+
+import java.util.List;
+
+/**
+ * 방별 메시지 이력의 한 페이지 (keyset 페이지네이션).
+ * 다음(더 오래된) 페이지는 nextBefore 값을 before 파라미터로 넘겨 조회합니다.
+ */
+public class ChatMessageHistoryPageDto {
+    private List<ChatMessageHistoryDto> messages; // 최신순 (id 내림차순)
+    private Long nextBefore;                      // 다음 페이지 조회용 커서 (더 없으면 null)
+    private boolean hasMore;
+
+    public ChatMessageHistoryPageDto() {}
+
+    public ChatMessageHistoryPageDto(List<ChatMessageHistoryDto> messages, Long nextBefore, boolean hasMore) {
+        this.messages = messages;
+        this.nextBefore = nextBefore;
+        this.hasMore = hasMore;
+    }
+
+    public List<ChatMessageHistoryDto> getMessages() { return messages; }
+    public void setMessages(List<ChatMessageHistoryDto> messages) { this.messages = messages; }
+
+    public Long getNextBefore() { return nextBefore; }
+    public void setNextBefore(Long nextBefore) { this.nextBefore = nextBefore; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,230 @@
+package com.example.political_chat_backend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * persisted_chat_message 테이블의 월 단위 range 파티션을 관리합니다. (PostgreSQL 전용)
+ * <ul>
+ *     <li>기동 시 일반 테이블이면 파티션 테이블로 전환하고, 기존 데이터는 하나의 파티션으로 붙입니다.</li>
+ *     <li>현재 월부터 premake-months 만큼 앞선 월의 파티션을 미리 만들어 둡니다.</li>
+ *     <li>보존 기간이 지난 파티션은 행 단위 DELETE 대신 파티션 단위로 DETACH(보관) 또는 DROP 합니다.</li>
+ * </ul>
+ */
+@Component
+public class ChatMessagePartitionManager implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatMessagePartitionManager.class);
+
+    private static final String PARENT_TABLE = "persisted_chat_message";
+    private static final String LEGACY_TABLE = PARENT_TABLE + "_legacy";
+    private static final String ID_SEQUENCE = PARENT_TABLE + "_id_seq";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'p'yyyy_MM");
+    // pg_get_expr(relpartbound) 결과 예: FOR VALUES FROM ('2026-10-01 00:00:00') TO ('2026-11-01 00:00:00')
+    private static final Pattern UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final String retentionMode;
+
+    private volatile boolean active = false;
+
+    @Autowired
+    public ChatMessagePartitionManager(JdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       @Value("${app.chat.partition.enabled:true}") boolean enabled,
+                                       @Value("${app.chat.partition.premake-months:2}") int premakeMonths,
+                                       @Value("${app.chat.partition.retention-months:0}") int retentionMonths,
+                                       @Value("${app.chat.partition.retention-mode:detach}") String retentionMode) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.retentionMode = retentionMode;
+    }
+
+    /**
+     * 모든 싱글톤 빈이 만들어진 뒤(Hibernate 스키마 업데이트 이후), 웹 서버가 요청을 받기 전에 파티션 구조를 준비합니다.
+     * 테이블 rename/ATTACH 도중 write-behind writer의 INSERT가 들어오지 않도록 STOMP 트래픽보다 먼저 실행되어야 합니다.
+     * (검색 인덱스를 만드는 SearchIndexManager는 ApplicationReadyEvent에서 실행되므로 항상 이후)
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        initialize();
+    }
+
+    private void initialize() {
+        if (!enabled) {
+            return;
+        }
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            logger.info("Message partitioning is disabled: unsupported database '{}'", product);
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> convertToPartitionedTableIfNeeded());
+            active = true;
+            runMaintenance();
+        } catch (Exception e) {
+            logger.error("Failed to initialize message partitions: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 매일 다가올 파티션을 만들고 보존 기간이 지난 파티션을 정리합니다.
+     */
+    @Scheduled(cron = "${app.chat.partition.maintenance-cron:0 0 3 * * *}")
+    public void runMaintenance() {
+        if (!active) {
+            return;
+        }
+        try {
+            createUpcomingPartitions();
+            applyRetention();
+        } catch (Exception e) {
+            logger.error("Message partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void convertToPartitionedTableIfNeeded() {
+        String relkind = jdbcTemplate.query(
+                "SELECT c.relkind FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                        "WHERE c.relname = ? AND n.nspname = current_schema()",
+                rs -> rs.next() ? rs.getString(1) : null, PARENT_TABLE);
+
+        if ("p".equals(relkind)) {
+            return; // 이미 파티션 테이블
+        }
+
+        if ("r".equals(relkind)) {
+            // Hibernate가 만든 일반 테이블을 legacy 파티션으로 보존 (인덱스/제약 이름 충돌 방지를 위해 함께 rename)
+            logger.info("Converting {} into a monthly range-partitioned table", PARENT_TABLE);
+            jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " RENAME TO " + LEGACY_TABLE);
+            jdbcTemplate.execute("ALTER INDEX IF EXISTS " + PARENT_TABLE + "_pkey RENAME TO " + LEGACY_TABLE + "_pkey");
+            jdbcTemplate.execute("ALTER INDEX IF EXISTS idx_" + PARENT_TABLE + "_room_id_id RENAME TO idx_" + LEGACY_TABLE + "_room_id_id");
+            jdbcTemplate.execute("ALTER INDEX IF EXISTS idx_" + PARENT_TABLE + "_content_trgm RENAME TO idx_" + LEGACY_TABLE + "_content_trgm");
+            jdbcTemplate.execute("ALTER TABLE " + LEGACY_TABLE + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        }
+
+        // 파티션 키(timestamp)는 PK에 포함되어야 하므로 (id, timestamp)를 PK로 사용
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + ID_SEQUENCE);
+        jdbcTemplate.execute("CREATE TABLE " + PARENT_TABLE + " (" +
+                "id BIGINT NOT NULL DEFAULT nextval('" + ID_SEQUENCE + "'), " +
+                "room_id VARCHAR(255), " +
+                "sender VARCHAR(255), " +
+                "content VARCHAR(255), " +
+                "message_type VARCHAR(255), " +
+                "\"timestamp\" TIMESTAMP(6) NOT NULL, " +
+                "PRIMARY KEY (id, \"timestamp\")" +
+                ") PARTITION BY RANGE (\"timestamp\")");
+        jdbcTemplate.execute("ALTER SEQUENCE " + ID_SEQUENCE + " OWNED BY " + PARENT_TABLE + ".id");
+        jdbcTemplate.execute("CREATE INDEX idx_" + PARENT_TABLE + "_room_id_id ON " + PARENT_TABLE + " (room_id, id)");
+
+        if ("r".equals(relkind)) {
+            attachLegacyTable();
+        }
+    }
+
+    private void attachLegacyTable() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + LEGACY_TABLE, Long.class);
+        Timestamp maxTimestamp = jdbcTemplate.queryForObject("SELECT MAX(\"timestamp\") FROM " + LEGACY_TABLE, Timestamp.class);
+        if (maxId == null || maxTimestamp == null) {
+            jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE); // 비어 있으면 보존할 필요 없음
+            return;
+        }
+        jdbcTemplate.execute("SELECT setval('" + ID_SEQUENCE + "', " + maxId + ")");
+        jdbcTemplate.execute("DELETE FROM " + LEGACY_TABLE + " WHERE \"timestamp\" IS NULL");
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_TABLE + " ALTER COLUMN \"timestamp\" SET NOT NULL");
+
+        // 기존 데이터는 마지막 메시지가 속한 달의 다음 달 1일까지를 범위로 갖는 하나의 파티션이 됩니다.
+        LocalDate legacyUpperBound = YearMonth.from(maxTimestamp.toLocalDateTime()).plusMonths(1).atDay(1);
+        jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + LEGACY_TABLE +
+                " FOR VALUES FROM (MINVALUE) TO ('" + legacyUpperBound.atStartOfDay() + "')");
+        logger.info("Attached existing messages as partition {} (upper bound {})", LEGACY_TABLE, legacyUpperBound);
+    }
+
+    private void createUpcomingPartitions() {
+        LocalDateTime coveredUntil = findPartitionBounds().stream()
+                .map(PartitionBound::upperBound)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= premakeMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            LocalDateTime from = month.atDay(1).atStartOfDay();
+            LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+            if (coveredUntil != null && !to.isAfter(coveredUntil)) {
+                continue; // legacy 파티션 등 기존 파티션이 이미 이 범위를 포함
+            }
+            if (coveredUntil != null && from.isBefore(coveredUntil)) {
+                from = coveredUntil;
+            }
+            String partition = PARENT_TABLE + "_" + month.format(PARTITION_SUFFIX);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + PARENT_TABLE +
+                    " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            coveredUntil = to;
+        }
+    }
+
+    private void applyRetention() {
+        if (retentionMonths <= 0) {
+            return; // 보존 정책 비활성화
+        }
+        LocalDateTime cutoff = YearMonth.now().minusMonths(retentionMonths).atDay(1).atStartOfDay();
+        for (PartitionBound partition : findPartitionBounds()) {
+            if (partition.upperBound().isAfter(cutoff)) {
+                continue;
+            }
+            // 파티션 단위로 분리하므로 행 단위 DELETE와 달리 인덱스 bloat이나 대량 vacuum이 발생하지 않습니다.
+            jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partition.name());
+            if ("drop".equalsIgnoreCase(retentionMode)) {
+                jdbcTemplate.execute("DROP TABLE " + partition.name());
+                logger.info("Dropped expired message partition {}", partition.name());
+            } else {
+                // 분리된 테이블은 pg_dump 등으로 보관(export)한 뒤 수동으로 삭제할 수 있습니다.
+                logger.info("Detached expired message partition {} for archival", partition.name());
+            }
+        }
+    }
+
+    private List<PartitionBound> findPartitionBounds() {
+        return jdbcTemplate.query(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "JOIN pg_namespace n ON n.oid = p.relnamespace " +
+                        "WHERE p.relname = ? AND n.nspname = current_schema()",
+                (rs, rowNum) -> {
+                    Matcher matcher = UPPER_BOUND.matcher(rs.getString(2));
+                    if (!matcher.find()) {
+                        return null;
+                    }
+                    return new PartitionBound(rs.getString(1), Timestamp.valueOf(matcher.group(1)).toLocalDateTime());
+                }, PARENT_TABLE).stream().filter(bound -> bound != null).toList();
+    }
+
+    private record PartitionBound(String name, LocalDateTime upperBound) {}
+}
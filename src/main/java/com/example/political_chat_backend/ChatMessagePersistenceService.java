@@ -0,0 +1,180 @@
+package com.example.political_chat_backend;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 메시지 write-behind 저장 서비스.
+ * 메시지는 브로드캐스트 직후 제한된 크기의 큐에 들어가고, 전용 writer 스레드가
+ * 배치 크기 또는 flush 간격 중 먼저 도달하는 조건에 따라 JDBC 배치 INSERT로 저장합니다.
+ */
+@Service
+public class ChatMessagePersistenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatMessagePersistenceService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO persisted_chat_message (room_id, sender, content, message_type, timestamp) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatMetrics chatMetrics;
+    private final BlockingQueue<PersistedChatMessage> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+
+    private final AtomicLong persistedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong callerRunsCount = new AtomicLong();
+    private volatile long lastPersistenceLagMs = 0;
+
+    private volatile boolean running = false;
+    private Thread writerThread;
+
+    @Autowired
+    public ChatMessagePersistenceService(JdbcTemplate jdbcTemplate,
+                                         ChatMetrics chatMetrics,
+                                         @Value("${app.chat.persistence.queue-capacity:10000}") int queueCapacity,
+                                         @Value("${app.chat.persistence.batch-size:200}") int batchSize,
+                                         @Value("${app.chat.persistence.flush-interval-ms:200}") long flushIntervalMs,
+                                         @Value("${app.chat.persistence.offer-timeout-ms:50}") long offerTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chatMetrics = chatMetrics;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::writeLoop, "chat-persistence-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        logger.info("Chat message write-behind writer started (batchSize={}, flushIntervalMs={}, capacity={})",
+                batchSize, flushIntervalMs, queue.remainingCapacity());
+    }
+
+    /**
+     * 메시지를 저장 큐에 넣습니다.
+     * 큐가 가득 차 있으면 offer-timeout 동안 대기하고(backpressure), 그래도 자리가 없으면
+     * 메시지를 잃지 않도록 호출 스레드에서 직접 저장합니다.
+     */
+    public void enqueue(PersistedChatMessage message) {
+        if (!running) {
+            writeBatch(List.of(message));
+            return;
+        }
+        try {
+            if (queue.offer(message, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        callerRunsCount.incrementAndGet();
+        logger.warn("Chat persistence queue is full (depth={}). Persisting on caller thread.", queue.size());
+        writeBatch(List.of(message));
+    }
+
+    private void writeLoop() {
+        List<PersistedChatMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PersistedChatMessage first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    PersistedChatMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                // shutdown()은 인터럽트하지 않지만, 외부에서 인터럽트되더라도 이미 꺼낸 메시지는 저장하고 종료합니다.
+                // 큐에 남은 메시지는 shutdown()에서 처리합니다.
+                writeBatch(batch);
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<PersistedChatMessage> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, message) -> {
+                ps.setString(1, message.getRoomId());
+                ps.setString(2, message.getSender());
+                ps.setString(3, message.getContent());
+                ps.setString(4, message.getMessageType() != null ? message.getMessageType().name() : null);
+                ps.setTimestamp(5, Timestamp.valueOf(message.getTimestamp()));
+            });
+            persistedCount.addAndGet(batch.size());
+            // 배치에서 가장 오래된 메시지가 생성된 시점부터 DB에 반영된 시점까지의 지연
+            lastPersistenceLagMs = Duration.between(batch.get(0).getTimestamp(), LocalDateTime.now()).toMillis();
+            chatMetrics.recordPersistenceBatch(batch.size(), System.nanoTime() - startNanos, lastPersistenceLagMs);
+        } catch (Exception e) {
+            failedCount.addAndGet(batch.size());
+            logger.error("Failed to persist chat message batch (size={}): {}", batch.size(), e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 인터럽트 대신 플래그로 종료: writer는 현재 배치를 저장하고 큐를 비운 뒤 스스로 종료합니다. (최대 flush 간격만큼 대기)
+        running = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // writer 스레드가 처리하지 못한 메시지를 종료 전에 모두 저장
+        List<PersistedChatMessage> remaining = new ArrayList<>(batchSize);
+        while (queue.drainTo(remaining, batchSize) > 0) {
+            writeBatch(remaining);
+            remaining.clear();
+        }
+        logger.info("Chat message write-behind writer stopped. persisted={}, failed={}", persistedCount.get(), failedCount.get());
+    }
+
+    // --- 모니터링용 지표 ---
+    public int getQueueDepth() { return queue.size(); }
+    public long getPersistedCount() { return persistedCount.get(); }
+    public long getFailedCount() { return failedCount.get(); }
+    public long getCallerRunsCount() { return callerRunsCount.get(); }
+    public long getLastPersistenceLagMs() { return lastPersistenceLagMs; }
+}
@@ -0,0 +1,103 @@
+package com.example.political_chat_backend;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 각 컴포넌트가 이미 집계하고 있는 값(큐 깊이, 누적 건수, 접속자 수 등)을 Micrometer 게이지/카운터로 노출합니다.
+ * 값은 스크랩 시점에만 읽으므로 처리 경로에 비용이 추가되지 않습니다.
+ */
+@Component
+public class ChatMeterBinder implements MeterBinder {
+
+    private final ChatMessagePersistenceService persistenceService;
+    private final ChatRateLimiter chatRateLimiter;
+    private final ChatRoomUserService chatRoomUserService;
+    private final RoomLifecycleManager roomLifecycleManager;
+    private final HotRoomIndex hotRoomIndex;
+    private final OutboundFlowControl outboundFlowControl;
+    private final StompCodecInterceptor stompCodecInterceptor;
+    private final ExecutionMetrics executionMetrics;
+    private final ObjectProvider<WebSocketHandler> subProtocolWebSocketHandler;
+
+    @Autowired
+    public ChatMeterBinder(ChatMessagePersistenceService persistenceService,
+                           ChatRateLimiter chatRateLimiter,
+                           ChatRoomUserService chatRoomUserService,
+                           RoomLifecycleManager roomLifecycleManager,
+                           HotRoomIndex hotRoomIndex,
+                           OutboundFlowControl outboundFlowControl,
+                           StompCodecInterceptor stompCodecInterceptor,
+                           ExecutionMetrics executionMetrics,
+                           @Qualifier("subProtocolWebSocketHandler") ObjectProvider<WebSocketHandler> subProtocolWebSocketHandler) {
+        this.persistenceService = persistenceService;
+        this.chatRateLimiter = chatRateLimiter;
+        this.chatRoomUserService = chatRoomUserService;
+        this.roomLifecycleManager = roomLifecycleManager;
+        this.hotRoomIndex = hotRoomIndex;
+        this.outboundFlowControl = outboundFlowControl;
+        this.stompCodecInterceptor = stompCodecInterceptor;
+        this.executionMetrics = executionMetrics;
+        this.subProtocolWebSocketHandler = subProtocolWebSocketHandler;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // write-behind 저장
+        gauge(registry, "chat.persistence.queue.depth", persistenceService, ChatMessagePersistenceService::getQueueDepth);
+        gauge(registry, "chat.persistence.last.lag.ms", persistenceService, ChatMessagePersistenceService::getLastPersistenceLagMs);
+        counter(registry, "chat.persistence.persisted", persistenceService, ChatMessagePersistenceService::getPersistedCount);
+        counter(registry, "chat.persistence.failed", persistenceService, ChatMessagePersistenceService::getFailedCount);
+        counter(registry, "chat.persistence.caller.runs", persistenceService, ChatMessagePersistenceService::getCallerRunsCount);
+
+        // 속도 제한, 접속자, 방 수명주기
+        gauge(registry, "chat.ratelimit.buckets", chatRateLimiter, ChatRateLimiter::getTrackedBucketCount);
+        gauge(registry, "chat.presence.rooms", chatRoomUserService, ChatRoomUserService::getRoomCount);
+        gauge(registry, "chat.presence.users", chatRoomUserService, ChatRoomUserService::getPresenceCount);
+        gauge(registry, "chat.presence.sessions", chatRoomUserService, ChatRoomUserService::getSessionCount);
+        gauge(registry, "chat.rooms.pending.deletion", roomLifecycleManager, RoomLifecycleManager::getPendingDeletionCount);
+        gauge(registry, "chat.rooms.hot.indexed", hotRoomIndex, HotRoomIndex::size);
+
+        // WebSocket 세션과 세션별 전송 큐
+        gauge(registry, "websocket.sessions.active", this, ChatMeterBinder::activeWebSocketSessions);
+        gauge(registry, "websocket.sessions.cbor", stompCodecInterceptor, StompCodecInterceptor::getCborSessionCount);
+        gauge(registry, "websocket.outbound.buffered.bytes", outboundFlowControl, OutboundFlowControl::getBufferedBytes);
+        counter(registry, "websocket.outbound.frames.delayed", outboundFlowControl, OutboundFlowControl::getDelayedFrameCount);
+        counter(registry, "websocket.outbound.frames.superseded", outboundFlowControl, OutboundFlowControl::getSupersededFrameCount);
+        counter(registry, "websocket.outbound.frames.dropped", outboundFlowControl, OutboundFlowControl::getDroppedFrameCount);
+        counter(registry, "websocket.outbound.slow.disconnects", outboundFlowControl, OutboundFlowControl::getSlowSessionDisconnectCount);
+
+        // 실행 모드 (가상 스레드 pinning, DB 커넥션 허가)
+        counter(registry, "execution.virtual.pinned.events", executionMetrics, ExecutionMetrics::getPinnedEventCount);
+        gauge(registry, "execution.db.permits.in.use", executionMetrics,
+                metrics -> metrics.getConnectionLimiter() != null ? metrics.getConnectionLimiter().getInUse() : 0);
+        gauge(registry, "execution.db.permits.waiting", executionMetrics,
+                metrics -> metrics.getConnectionLimiter() != null ? metrics.getConnectionLimiter().getWaitingThreads() : 0);
+    }
+
+    private int activeWebSocketSessions() {
+        if (subProtocolWebSocketHandler.getIfAvailable() instanceof SubProtocolWebSocketHandler handler) {
+            SubProtocolWebSocketHandler.Stats stats = handler.getStats();
+            return stats.getWebSocketSessions() + stats.getHttpStreamingSessions() + stats.getHttpPollingSessions();
+        }
+        return 0;
+    }
+
+    private static <T> void gauge(MeterRegistry registry, String name, T source, ToDoubleFunction<T> value) {
+        Gauge.builder(name, source, value).register(registry);
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, T source, ToDoubleFunction<T> value) {
+        FunctionCounter.builder(name, source, value).register(registry);
+    }
+}
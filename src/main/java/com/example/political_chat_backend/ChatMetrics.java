@@ -0,0 +1,149 @@
+package com.example.political_chat_backend;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅 처리 경로에서 직접 기록하는 지표 (카운터, 타이머).
+ * 큐 깊이나 접속자 수처럼 컴포넌트가 이미 가지고 있는 값은 ChatMeterBinder가 게이지로 노출합니다.
+ * <p>
+ * 방 ID 태그는 시계열 수가 무한히 늘지 않도록 max-room-tags 개까지만 만들고, 그 이후 방은 room="other"로 집계합니다.
+ */
+@Component
+public class ChatMetrics {
+
+    static final String OTHER_ROOM = "other";
+
+    private final MeterRegistry registry;
+    private final int maxRoomTags;
+    private final long logSampleRate;
+
+    private final Map<String, Counter> messageCounters = new ConcurrentHashMap<>();
+    private final Counter otherRoomMessages;
+    private final Timer fanOutTimer;
+    private final Counter cooldownRejections;
+    private final Timer persistenceBatchTimer;
+    private final DistributionSummary persistenceBatchSize;
+    private final Timer persistenceLagTimer;
+    private final Timer jwtVerifyValid;
+    private final Timer jwtVerifyInvalid;
+    private final Counter jwtCacheHits;
+    private final Map<String, Counter> stompFrameCounters = new ConcurrentHashMap<>();
+    private final AtomicLong logSequence = new AtomicLong();
+
+    @Autowired
+    public ChatMetrics(MeterRegistry registry,
+                       @Value("${app.metrics.chat.max-room-tags:200}") int maxRoomTags,
+                       @Value("${app.metrics.log-sample-rate:100}") long logSampleRate) {
+        this.registry = registry;
+        this.maxRoomTags = maxRoomTags;
+        this.logSampleRate = Math.max(1, logSampleRate);
+        this.otherRoomMessages = messageCounter(OTHER_ROOM);
+        this.fanOutTimer = Timer.builder("chat.fanout.latency")
+                .description("Time to hand a chat message to the broker for fan-out")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.cooldownRejections = Counter.builder("chat.cooldown.rejections")
+                .description("Messages rejected by the per-room slow-mode limiter")
+                .register(registry);
+        this.persistenceBatchTimer = Timer.builder("chat.persistence.batch.duration")
+                .description("JDBC batch insert time of the write-behind writer")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.persistenceBatchSize = DistributionSummary.builder("chat.persistence.batch.size")
+                .description("Messages per write-behind batch")
+                .register(registry);
+        this.persistenceLagTimer = Timer.builder("chat.persistence.lag")
+                .description("Delay between message creation and its batch being committed")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.jwtVerifyValid = jwtTimer("valid");
+        this.jwtVerifyInvalid = jwtTimer("invalid");
+        this.jwtCacheHits = Counter.builder("auth.jwt.cache.hits")
+                .description("JWT validations answered from the verified-token cache")
+                .register(registry);
+    }
+
+    public void recordMessageSent(String roomId) {
+        Counter counter = messageCounters.get(roomId);
+        if (counter == null) {
+            if (messageCounters.size() >= maxRoomTags) {
+                counter = otherRoomMessages;
+            } else {
+                counter = messageCounters.computeIfAbsent(roomId, this::messageCounter);
+            }
+        }
+        counter.increment();
+    }
+
+    /**
+     * 삭제된 방의 메시지 카운터를 레지스트리에서 제거하고, 비워진 자리를 다른 방이 쓸 수 있게 합니다.
+     */
+    public void removeRoom(String roomId) {
+        Counter counter = messageCounters.remove(roomId);
+        if (counter != null) {
+            registry.remove(counter);
+        }
+    }
+
+    public void recordFanOut(long nanos) {
+        fanOutTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCooldownRejection() {
+        cooldownRejections.increment();
+    }
+
+    public void recordPersistenceBatch(int size, long writeNanos, long lagMs) {
+        persistenceBatchTimer.record(writeNanos, TimeUnit.NANOSECONDS);
+        persistenceBatchSize.record(size);
+        persistenceLagTimer.record(Math.max(0, lagMs), TimeUnit.MILLISECONDS);
+    }
+
+    public void recordJwtVerification(long nanos, boolean valid) {
+        (valid ? jwtVerifyValid : jwtVerifyInvalid).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordJwtCacheHit() {
+        jwtCacheHits.increment();
+    }
+
+    public void recordStompFrame(String command) {
+        stompFrameCounters.computeIfAbsent(command, c -> Counter.builder("stomp.inbound.frames")
+                .description("Inbound STOMP frames by command")
+                .tag("command", c)
+                .register(registry)).increment();
+    }
+
+    /**
+     * 처리 경로의 DEBUG 로그를 log-sample-rate 건 중 한 건만 남기기 위한 샘플링 판단
+     */
+    public boolean sampleLog() {
+        return logSequence.getAndIncrement() % logSampleRate == 0;
+    }
+
+    private Counter messageCounter(String roomId) {
+        return Counter.builder("chat.messages.sent")
+                .description("Chat messages broadcast per room")
+                .tag("room", roomId)
+                .register(registry);
+    }
+
+    private Timer jwtTimer(String result) {
+        return Timer.builder("auth.jwt.validation")
+                .description("JWT signature verification time (cache misses)")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.political_chat_backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * (사용자, 방) 단위 채팅 전송 속도 제한기.
+ * 각 버킷은 GCRA 방식의 token bucket으로, "다음 토큰이 완전히 채워지는 시각"(nanoTime) 하나만
+ * AtomicLong으로 보관하므로 메시지마다 객체를 만들지 않고 CAS로 lock-free하게 갱신됩니다.
+ * 방마다 방장이 설정한 slow-mode(전송 간격)를 적용하며, 오래 사용하지 않은 버킷은 주기적으로 제거합니다.
+ * <p>
+ * 버킷과 slow-mode 설정은 인스턴스마다 따로 보관합니다. relay 모드로 여러 인스턴스를 띄우면 사용자는 접속한 인스턴스의
+ * 제한만 받고, slow-mode 변경은 변경 요청을 처리한 인스턴스에만 즉시 반영되며 다른 인스턴스는 재시작 시
+ * (ChatRoomService.restoreSlowModeSettings) 반영됩니다.
+ */
+@Component
+public class ChatRateLimiter {
+
+    private final long defaultIntervalNanos;
+    private final int burst;
+    private final long idleEvictNanos;
+
+    // Key: roomId, Value: (Key: username, Value: 버킷 상태)
+    private final Map<String, Map<String, AtomicLong>> buckets = new ConcurrentHashMap<>();
+    // Key: roomId, Value: 방장이 설정한 전송 간격(nanos). 없으면 기본값 사용
+    private final Map<String, Long> roomIntervals = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ChatRateLimiter(@Value("${app.chat.rate-limit.default-cooldown-seconds:5}") long defaultCooldownSeconds,
+                           @Value("${app.chat.rate-limit.burst:1}") int burst,
+                           @Value("${app.chat.rate-limit.idle-evict-seconds:600}") long idleEvictSeconds) {
+        this.defaultIntervalNanos = TimeUnit.SECONDS.toNanos(defaultCooldownSeconds);
+        this.burst = Math.max(1, burst);
+        this.idleEvictNanos = TimeUnit.SECONDS.toNanos(idleEvictSeconds);
+    }
+
+    /**
+     * 메시지 전송을 시도합니다.
+     * @return 허용되면 0, 거부되면 다시 보낼 수 있을 때까지 남은 시간(nanos)
+     */
+    public long tryAcquire(String roomId, String username) {
+        long interval = roomIntervals.getOrDefault(roomId, defaultIntervalNanos);
+        if (interval <= 0) {
+            return 0; // slow-mode 해제된 방
+        }
+        AtomicLong bucket = buckets
+                .computeIfAbsent(roomId, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(username != null ? username : "", k -> new AtomicLong(Long.MIN_VALUE));
+        long burstWindow = interval * burst;
+        while (true) {
+            long now = System.nanoTime();
+            long tat = bucket.get();
+            long base = (tat == Long.MIN_VALUE || tat - now < 0) ? now : tat;
+            long newTat = base + interval;
+            long waitNanos = newTat - now - burstWindow;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 방의 slow-mode 간격을 설정합니다.
+     * 트랜잭션 안에서 호출되면 커밋 이후에 반영되어, 롤백된 변경이 제한기에 남지 않습니다.
+     * @param cooldownSeconds 메시지 간 최소 간격(초). 0이면 제한 없음, null이면 기본값으로 되돌림
+     */
+    public void setRoomCooldown(String roomId, Integer cooldownSeconds) {
+        runAfterCommit(() -> {
+            if (cooldownSeconds == null) {
+                roomIntervals.remove(roomId);
+            } else {
+                roomIntervals.put(roomId, TimeUnit.SECONDS.toNanos(cooldownSeconds));
+            }
+        });
+    }
+
+    /**
+     * 방이 삭제되었을 때 해당 방의 버킷과 설정을 제거합니다.
+     */
+    public void removeRoom(String roomId) {
+        buckets.remove(roomId);
+        roomIntervals.remove(roomId);
+    }
+
+    /**
+     * 토큰이 모두 채워진 뒤 idle-evict 시간 이상 사용되지 않은 버킷을 제거합니다.
+     * 완전히 채워진 버킷은 새 버킷과 동일하므로 제거해도 제한 동작은 바뀌지 않습니다.
+     */
+    @Scheduled(fixedDelayString = "${app.chat.rate-limit.evict-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.forEach((roomId, userBuckets) -> {
+            userBuckets.entrySet().removeIf(entry -> {
+                long tat = entry.getValue().get();
+                return tat == Long.MIN_VALUE || now - tat > idleEvictNanos;
+            });
+            if (userBuckets.isEmpty()) {
+                // 제거 직후 다른 스레드가 버킷을 추가했다면 그 버킷이 초기화될 뿐이므로(메시지 1회 추가 허용) 안전합니다.
+                buckets.remove(roomId, userBuckets);
+            }
+        });
+    }
+
+    public int getTrackedBucketCount() {
+        return buckets.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
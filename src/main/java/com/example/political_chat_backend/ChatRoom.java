@@ -28,6 +28,8 @@ public class ChatRoom {
     @Column(nullable = false) // 방장은 필수 정보라고 가정
     private String ownerUsername; // 방 생성자 (방장)의 사용자 이름
 
+    private Integer slowModeSeconds; // 방장이 설정한 메시지 전송 간격(초). null이면 기본 쿨다운 적용
+
     protected ChatRoom() {}
 
     // 생성자 수정: ownerUsername 파라미터 추가
@@ -45,9 +47,11 @@ public class ChatRoom {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public CommunityCategory getCategory() { return category; }
     public String getOwnerUsername() { return ownerUsername; } // ownerUsername getter 추가
+    public Integer getSlowModeSeconds() { return slowModeSeconds; }
 
     // Setters
     public void setName(String name) { this.name = name; }
     public void setCategory(CommunityCategory category) { this.category = category; }
     public void setOwnerUsername(String ownerUsername) { this.ownerUsername = ownerUsername; } // ownerUsername setter 추가
+    public void setSlowModeSeconds(Integer slowModeSeconds) { this.slowModeSeconds = slowModeSeconds; }
 }
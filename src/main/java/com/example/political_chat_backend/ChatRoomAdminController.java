@@ -11,6 +11,8 @@ import org.springframework.security.core.Authentication; // Spring Security 사
 // import org.springframework.security.access.prepost.PreAuthorize; // 메소드 레벨 보안 사용 시
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/chatrooms/{roomId}/admin") // 방 ID별 관리 기능의 기본 경로
 public class ChatRoomAdminController {
@@ -18,6 +20,8 @@ public class ChatRoomAdminController {
     private final ChatAdminService chatAdminService;
     private final ChatRoomService chatRoomService;
 
+    private static final int MAX_SLOW_MODE_SECONDS = 3600;
+
     @Autowired
     public ChatRoomAdminController(ChatAdminService chatAdminService, ChatRoomService chatRoomService) {
         this.chatAdminService = chatAdminService;
@@ -49,7 +53,7 @@ public class ChatRoomAdminController {
         }
 
         // 1. 채팅방 존재 여부 확인
-        if (!chatRoomService.findChatRoomById(roomId).isPresent()) {
+        if (!chatRoomService.roomExists(roomId)) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("채팅방을 찾을 수 없습니다: " + roomId);
         }
 
@@ -72,4 +76,49 @@ public class ChatRoomAdminController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("사용자 강퇴 처리 중 서버 내부 오류가 발생했습니다.");
         }
     }
+
+    @PutMapping("/slow-mode")
+    public ResponseEntity<?> updateSlowMode(
+            @PathVariable String roomId,
+            @RequestBody SlowModeRequestDto slowModeRequest,
+            Authentication authentication
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
+        }
+        Integer cooldownSeconds = slowModeRequest.getCooldownSeconds();
+        if (cooldownSeconds != null && (cooldownSeconds < 0 || cooldownSeconds > MAX_SLOW_MODE_SECONDS)) {
+            return ResponseEntity.badRequest().body("전송 간격은 0초 이상 " + MAX_SLOW_MODE_SECONDS + "초 이하로 설정해주세요.");
+        }
+        if (!chatRoomService.roomExists(roomId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("채팅방을 찾을 수 없습니다: " + roomId);
+        }
+        // slow-mode는 방장만 변경할 수 있습니다.
+        if (!chatRoomService.isRoomOwner(roomId, authentication.getName())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("이 채팅방의 slow-mode를 변경할 권한이 없습니다.");
+        }
+        return ResponseEntity.ok(chatRoomService.updateSlowMode(roomId, cooldownSeconds));
+    }
+
+    @PutMapping("/name")
+    public ResponseEntity<?> renameRoom(
+            @PathVariable String roomId,
+            @RequestBody Map<String, String> payload,
+            Authentication authentication
+    ) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
+        }
+        String name = payload.get("name");
+        if (name == null || name.trim().isEmpty()) {
+            return ResponseEntity.badRequest().body("방 이름은 필수입니다.");
+        }
+        if (!chatRoomService.roomExists(roomId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("채팅방을 찾을 수 없습니다: " + roomId);
+        }
+        if (!chatRoomService.isRoomOwner(roomId, authentication.getName())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("이 채팅방의 이름을 변경할 권한이 없습니다.");
+        }
+        return ResponseEntity.ok(chatRoomService.renameRoom(roomId, name.trim()));
+    }
 }
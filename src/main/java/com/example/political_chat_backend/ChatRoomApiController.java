@@ -47,10 +47,10 @@ public class ChatRoomApiController {
     }
 
     @GetMapping("/categories")
-    public ResponseEntity<List<CommunityCategory>> getAllCategories() {
+    public ResponseEntity<List<CategorySummaryDto>> getAllCategories() {
         // 카테고리 수가 매우 많지 않다면 페이징 없이 List로 반환해도 무방할 수 있습니다.
-        // 많다면 이 부분도 페이징 적용 필요.
-        List<CommunityCategory> categories = chatRoomService.findAllCategories();
+        // 방 목록은 싣지 않고 방 수와 접속자 합계만 반환합니다. (방 목록은 /categories/{categoryId}/chatrooms)
+        List<CategorySummaryDto> categories = chatRoomService.findCategorySummaries();
         return ResponseEntity.ok(categories);
     }
 
@@ -95,6 +95,13 @@ public class ChatRoomApiController {
         return ResponseEntity.ok(chatRoomDtosPage);
     }
 
+    @GetMapping("/chatrooms/hot") // 현재 접속자 수 순 채팅방 목록 (메모리 색인, DB 조회 없음)
+    public ResponseEntity<List<ChatRoomDto>> getHotChatRooms(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "" + ChatRoomService.DEFAULT_HOT_ROOMS_LIMIT) int limit) {
+        return ResponseEntity.ok(chatRoomService.findHotRooms(category, limit));
+    }
+
     @GetMapping("/categories/{categoryId}/chatrooms") // 카테고리별 채팅방 목록 (페이징 적용)
     public ResponseEntity<?> getChatRoomsByCategory(
             @PathVariable String categoryId,
@@ -108,6 +115,16 @@ public class ChatRoomApiController {
         }
     }
 
+    @GetMapping("/chatrooms/{roomId}/messages") // 방별 메시지 이력 조회 (keyset 페이지네이션)
+    public ResponseEntity<?> getRoomMessages(@PathVariable String roomId,
+                                             @RequestParam(required = false) Long before,
+                                             @RequestParam(defaultValue = "" + ChatRoomService.DEFAULT_HISTORY_PAGE_SIZE) int limit) {
+        if (!chatRoomService.roomExists(roomId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("채팅방을 찾을 수 없습니다: " + roomId);
+        }
+        return ResponseEntity.ok(chatRoomService.findRoomMessages(roomId, before, limit));
+    }
+
     @GetMapping("/chatrooms/{roomId}") // 단일 채팅방 조회 (DTO 반환)
     public ResponseEntity<?> getChatRoomById(@PathVariable String roomId) {
         // ChatRoomService에 findChatRoomDtoById 메소드가 ChatRoomDto를 반환한다고 가정
@@ -10,6 +10,7 @@ public class ChatRoomDto {
     private String categoryId;    // 부모 카테고리 ID
     private String ownerUsername; // <<--- 채팅방 소유자 아이디 필드 추가!
     private int currentUserCount; // 현재 사용자 수
+    private Integer slowModeSeconds; // 방장이 설정한 메시지 전송 간격(초), null이면 기본값
 
     // 기본 생성자
     public ChatRoomDto() {}
@@ -29,7 +30,7 @@ public class ChatRoomDto {
         if (chatRoom == null) {
             return null;
         }
-        return new ChatRoomDto(
+        ChatRoomDto dto = new ChatRoomDto(
                 chatRoom.getRoomId(),
                 chatRoom.getName(),
                 chatRoom.getCreatedAt(),
@@ -37,6 +38,22 @@ public class ChatRoomDto {
                 chatRoom.getOwnerUsername(), // <<--- chatRoom 엔티티에서 ownerUsername 가져오기!
                 currentUserCount
         );
+        dto.setSlowModeSeconds(chatRoom.getSlowModeSeconds());
+        return dto;
+    }
+
+    // 메타데이터 캐시의 방 정보로 변환 (DB 조회 없이 응답할 때 사용)
+    public static ChatRoomDto fromMetadata(ChatRoomMetadataCache.RoomMetadata metadata, int currentUserCount) {
+        ChatRoomDto dto = new ChatRoomDto(
+                metadata.roomId(),
+                metadata.name(),
+                metadata.createdAt(),
+                metadata.categoryId(),
+                metadata.ownerUsername(),
+                currentUserCount
+        );
+        dto.setSlowModeSeconds(metadata.slowModeSeconds());
+        return dto;
     }
 
     // Getters and Setters
@@ -57,4 +74,7 @@ public class ChatRoomDto {
 
     public int getCurrentUserCount() { return currentUserCount; }
     public void setCurrentUserCount(int currentUserCount) { this.currentUserCount = currentUserCount; }
+
+    public Integer getSlowModeSeconds() { return slowModeSeconds; }
+    public void setSlowModeSeconds(Integer slowModeSeconds) { this.slowModeSeconds = slowModeSeconds; }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.example.political_chat_backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅방 메타데이터(방장, 이름, 카테고리, 설정) 메모리 캐시.
+ * 메시지 전송 경로의 방장 확인 등이 DB를 읽지 않도록, 방 생성 시 또는 최초 조회 시 채워지고
+ * 방 삭제/이름 변경/설정 변경 시 무효화됩니다.
+ * <p>
+ * 존재하지 않는 방 ID는 클라이언트가 임의로 만들 수 있으므로, 조회 실패는 짧은 TTL과 최대 개수가 있는
+ * 별도 맵에만 기록합니다. (없는 방으로 반복해서 보내는 메시지가 매번 DB를 조회하지 않을 정도로만 보관)
+ */
+@Component
+public class ChatRoomMetadataCache {
+
+    /**
+     * 캐시에 보관하는 방 정보 (불변)
+     */
+    public record RoomMetadata(String roomId, String name, String ownerUsername, String categoryId,
+                               Integer slowModeSeconds, LocalDateTime createdAt) {
+
+        static RoomMetadata fromEntity(ChatRoom room) {
+            return new RoomMetadata(
+                    room.getRoomId(),
+                    room.getName(),
+                    room.getOwnerUsername(),
+                    room.getCategory() != null ? room.getCategory().getCategoryId() : null,
+                    room.getSlowModeSeconds(),
+                    room.getCreatedAt());
+        }
+    }
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final long missTtlNanos;
+    private final int maxMissEntries;
+
+    // Key: roomId, Value: 방 메타데이터 (실제로 존재하는 방만, 방 삭제 시 제거)
+    private final Map<String, RoomMetadata> cache = new ConcurrentHashMap<>();
+    // Key: 존재하지 않는 roomId, Value: 만료 시각 (System.nanoTime 기준)
+    private final Map<String, Long> missingRooms = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ChatRoomMetadataCache(ChatRoomRepository chatRoomRepository,
+                                 @Value("${app.chat.room-metadata.miss-ttl-ms:5000}") long missTtlMs,
+                                 @Value("${app.chat.room-metadata.miss-max-entries:1000}") int maxMissEntries) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.missTtlNanos = TimeUnit.MILLISECONDS.toNanos(missTtlMs);
+        this.maxMissEntries = maxMissEntries;
+    }
+
+    /**
+     * 방 메타데이터를 조회합니다. 캐시에 없을 때만 DB에서 읽습니다.
+     */
+    public Optional<RoomMetadata> get(String roomId) {
+        if (roomId == null) {
+            return Optional.empty();
+        }
+        RoomMetadata cached = cache.get(roomId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (isKnownMissing(roomId)) {
+            return Optional.empty();
+        }
+        Optional<RoomMetadata> loaded = chatRoomRepository.findByRoomId(roomId).map(RoomMetadata::fromEntity);
+        if (loaded.isEmpty()) {
+            recordMissing(roomId);
+            return loaded;
+        }
+        RoomMetadata existing = cache.putIfAbsent(roomId, loaded.get());
+        return existing != null ? Optional.of(existing) : loaded;
+    }
+
+    /**
+     * 캐시에 있는 메타데이터만 조회합니다. (DB를 읽지 않음, 캐시에 없으면 empty)
+     */
+    public Optional<RoomMetadata> peek(String roomId) {
+        return Optional.ofNullable(roomId != null ? cache.get(roomId) : null);
+    }
+
+    public boolean isOwner(String roomId, String username) {
+        return username != null && get(roomId)
+                .map(metadata -> username.equals(metadata.ownerUsername()))
+                .orElse(false);
+    }
+
+    /**
+     * 방이 생성되거나 변경된 뒤 캐시를 최신 엔티티 값으로 갱신합니다.
+     * 트랜잭션 안에서 호출되면 커밋 이후에 반영되어, 롤백된 변경이 캐시에 남지 않습니다.
+     */
+    public void put(ChatRoom room) {
+        RoomMetadata metadata = RoomMetadata.fromEntity(room);
+        runAfterCommit(() -> {
+            cache.put(metadata.roomId(), metadata);
+            missingRooms.remove(metadata.roomId());
+        });
+    }
+
+    /**
+     * 방이 삭제되었을 때 캐시에서 제거합니다.
+     * 즉시 제거하고, 커밋 전에 다른 스레드가 이전 값을 다시 읽어 넣었을 경우에 대비해 커밋 후 한 번 더 제거합니다.
+     */
+    public void invalidate(String roomId) {
+        cache.remove(roomId);
+        runAfterCommit(() -> cache.remove(roomId));
+    }
+
+    private boolean isKnownMissing(String roomId) {
+        Long expiresAt = missingRooms.get(roomId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - expiresAt < 0) {
+            return true;
+        }
+        missingRooms.remove(roomId, expiresAt);
+        return false;
+    }
+
+    // 최대 개수에 도달하면 만료된 항목을 먼저 정리하고, 그래도 가득 차 있으면 전부 비움 (임의의 ID로 늘릴 수 없도록)
+    private void recordMissing(String roomId) {
+        if (missingRooms.size() >= maxMissEntries) {
+            long now = System.nanoTime();
+            missingRooms.values().removeIf(expiresAt -> now - expiresAt >= 0);
+            if (missingRooms.size() >= maxMissEntries) {
+                missingRooms.clear();
+            }
+        }
+        missingRooms.put(roomId, System.nanoTime() + missTtlNanos);
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
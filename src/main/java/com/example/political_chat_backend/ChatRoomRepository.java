@@ -5,8 +5,12 @@ import com.example.political_chat_backend.CommunityCategory;
 import org.springframework.data.domain.Page; // Page 임포트
 import org.springframework.data.domain.Pageable; // Pageable 임포트
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,6 +18,29 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, String> {
 
     Optional<ChatRoom> findByRoomId(String roomId);
 
+    /**
+     * 방 ID와 방장 (기동 시 고아 방 정리용, 엔티티를 읽지 않음)
+     */
+    interface RoomOwner {
+        String getRoomId();
+        String getOwnerUsername();
+    }
+
+    // 기준 시각 이전에 만들어진 방 (생성 시각이 없는 이전 데이터 포함)
+    @Query("SELECT r.roomId AS roomId, r.ownerUsername AS ownerUsername FROM ChatRoom r " +
+           "WHERE r.createdAt < :cutoff OR r.createdAt IS NULL")
+    List<RoomOwner> findRoomOwnersCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // 카테고리별 방 수 집계 (카테고리 목록 API용, 방이 없는 카테고리도 포함)
+    @Query("SELECT new com.example.political_chat_backend.CategorySummaryDto(c.categoryId, c.name, c.description, c.createdAt, COUNT(r)) " +
+           "FROM CommunityCategory c LEFT JOIN c.chatRooms r " +
+           "GROUP BY c.categoryId, c.name, c.description, c.createdAt " +
+           "ORDER BY c.createdAt, c.categoryId")
+    List<CategorySummaryDto> findCategorySummaries();
+
+    // slow-mode가 설정된 방 목록 (기동 시 속도 제한기 설정 복원용)
+    List<ChatRoom> findBySlowModeSecondsIsNotNull();
+
     // 특정 카테고리에 속한 채팅방 목록을 페이징하여 조회
     Page<ChatRoom> findByCategory(CommunityCategory category, Pageable pageable);
 
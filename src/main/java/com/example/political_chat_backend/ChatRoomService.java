@@ -9,16 +9,22 @@ import com.example.political_chat_backend.CommunityCategoryRepository;
 
 import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;       // Page 임포트
 import org.springframework.data.domain.Pageable;  // Pageable 임포트
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.UUID;
-// stream().map().collect() 사용 시 필요할 수 있으나, Page.map() 사용 시 직접 필요 없을 수 있음
-// import java.util.stream.Collectors;
 
 @Service
 public class ChatRoomService {
@@ -26,14 +32,40 @@ public class ChatRoomService {
     private final ChatRoomRepository chatRoomRepository;
     private final CommunityCategoryRepository communityCategoryRepository;
     private final ChatRoomUserService chatRoomUserService;
+    private final PersistedChatMessageRepository persistedChatMessageRepository;
+    private final RecentMessageService recentMessageService;
+    private final ChatRateLimiter chatRateLimiter;
+    private final ChatRoomMetadataCache chatRoomMetadataCache;
+    private final CategoryListingCache categoryListingCache;
+    private final HotRoomIndex hotRoomIndex;
+    private final ChatMetrics chatMetrics;
+
+    public static final int DEFAULT_HISTORY_PAGE_SIZE = 50;
+    public static final int MAX_HISTORY_PAGE_SIZE = 100;
+    public static final int DEFAULT_HOT_ROOMS_LIMIT = 20;
+    public static final int MAX_HOT_ROOMS_LIMIT = 100;
 
     @Autowired
     public ChatRoomService(ChatRoomRepository chatRoomRepository,
                            CommunityCategoryRepository communityCategoryRepository,
-                           ChatRoomUserService chatRoomUserService) {
+                           ChatRoomUserService chatRoomUserService,
+                           PersistedChatMessageRepository persistedChatMessageRepository,
+                           RecentMessageService recentMessageService,
+                           ChatRateLimiter chatRateLimiter,
+                           ChatRoomMetadataCache chatRoomMetadataCache,
+                           CategoryListingCache categoryListingCache,
+                           HotRoomIndex hotRoomIndex,
+                           ChatMetrics chatMetrics) {
         this.chatRoomRepository = chatRoomRepository;
         this.communityCategoryRepository = communityCategoryRepository;
         this.chatRoomUserService = chatRoomUserService;
+        this.persistedChatMessageRepository = persistedChatMessageRepository;
+        this.recentMessageService = recentMessageService;
+        this.chatRateLimiter = chatRateLimiter;
+        this.chatRoomMetadataCache = chatRoomMetadataCache;
+        this.categoryListingCache = categoryListingCache;
+        this.hotRoomIndex = hotRoomIndex;
+        this.chatMetrics = chatMetrics;
     }
 
     /**
@@ -45,16 +77,29 @@ public class ChatRoomService {
             throw new IllegalArgumentException("이미 존재하는 카테고리 ID 입니다: " + categoryId);
         }
         CommunityCategory newCategory = new CommunityCategory(categoryId, name, description);
-        return communityCategoryRepository.save(newCategory);
+        CommunityCategory savedCategory = communityCategoryRepository.save(newCategory);
+        categoryListingCache.invalidate();
+        return savedCategory;
     }
 
-    @Transactional(readOnly = true)
-    public List<CommunityCategory> findAllCategories() {
-        List<CommunityCategory> categories = communityCategoryRepository.findAll();
-        // LAZY 로딩인 chatRooms를 사용하기 전에 초기화 (DTO 변환 시점에 따라 필요 없을 수도 있음)
-        // 만약 Category DTO를 사용하고 거기서 chatRooms를 제외한다면 이 초기화는 불필요
-        for (CommunityCategory category : categories) {
-            Hibernate.initialize(category.getChatRooms());
+    /**
+     * 카테고리 목록을 방 수와 현재 접속자 합계와 함께 조회합니다.
+     * 방 수는 집계 쿼리 한 번으로 가져오고(방 엔티티를 읽지 않음), 결과는 짧은 TTL 동안 캐시됩니다.
+     */
+    public List<CategorySummaryDto> findCategorySummaries() {
+        return categoryListingCache.get(this::loadCategorySummaries);
+    }
+
+    private List<CategorySummaryDto> loadCategorySummaries() {
+        List<CategorySummaryDto> categories = chatRoomRepository.findCategorySummaries();
+        // 접속자가 있는 방만 카테고리별로 합산 (방의 카테고리는 메타데이터 캐시에서 조회)
+        Map<String, Long> liveUsersByCategory = new HashMap<>();
+        chatRoomUserService.getOccupiedRoomCounts().forEach((roomId, userCount) ->
+                chatRoomMetadataCache.get(roomId)
+                        .map(ChatRoomMetadataCache.RoomMetadata::categoryId)
+                        .ifPresent(categoryId -> liveUsersByCategory.merge(categoryId, (long) userCount, Long::sum)));
+        for (CategorySummaryDto category : categories) {
+            category.setLiveUserCount(liveUsersByCategory.getOrDefault(category.getCategoryId(), 0L));
         }
         return categories;
     }
@@ -88,7 +133,10 @@ public class ChatRoomService {
         }
 
         ChatRoom newChatRoom = new ChatRoom(newRoomId, name, category, ownerUsername);
-        return chatRoomRepository.save(newChatRoom);
+        ChatRoom savedChatRoom = chatRoomRepository.save(newChatRoom);
+        chatRoomMetadataCache.put(savedChatRoom);
+        categoryListingCache.invalidate();
+        return savedChatRoom;
     }
 
     /**
@@ -103,6 +151,20 @@ public class ChatRoomService {
         return roomsPage.map(room -> ChatRoomDto.fromEntity(room, chatRoomUserService.countUsersInRoom(room.getRoomId())));
     }
 
+    /**
+     * 현재 접속자가 많은 순으로 채팅방을 조회합니다. 접속자 색인과 메타데이터 캐시만 사용하며 DB를 조회하지 않습니다.
+     * @param categoryId 카테고리 ID (null이면 전체)
+     * @param limit 최대 개수 (1 ~ MAX_HOT_ROOMS_LIMIT)
+     */
+    public List<ChatRoomDto> findHotRooms(String categoryId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_HOT_ROOMS_LIMIT));
+        String category = (categoryId == null || categoryId.isBlank()) ? null : categoryId;
+        return hotRoomIndex.getHottestRooms(category, size).stream()
+                .flatMap(room -> chatRoomMetadataCache.peek(room.roomId()).stream()
+                        .map(metadata -> ChatRoomDto.fromMetadata(metadata, room.userCount())))
+                .toList();
+    }
+
     /**
      * 특정 채팅방 정보를 ID로 조회합니다. (엔티티 반환)
      * @param roomId 조회할 채팅방 ID
@@ -140,17 +202,94 @@ public class ChatRoomService {
         return roomsInCategoryPage.map(room -> ChatRoomDto.fromEntity(room, chatRoomUserService.countUsersInRoom(room.getRoomId())));
     }
 
+    /**
+     * 특정 채팅방의 메시지 이력을 최신순으로 조회합니다. (keyset 페이지네이션)
+     * OFFSET과 COUNT 쿼리 없이 (room_id, id) 인덱스만 사용하므로, 오래된 페이지도 같은 비용으로 조회됩니다.
+     * @param roomId 채팅방 ID
+     * @param beforeId 이 ID보다 작은(더 오래된) 메시지만 조회 (null이면 가장 최신부터)
+     * @param limit 페이지 크기 (1 ~ MAX_HISTORY_PAGE_SIZE)
+     * @return 메시지 목록과 다음 페이지 커서
+     */
+    @Transactional(readOnly = true)
+    public ChatMessageHistoryPageDto findRoomMessages(String roomId, Long beforeId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        // 다음 페이지 존재 여부를 COUNT 없이 판단하기 위해 한 건 더 조회
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<PersistedChatMessage> rows = (beforeId == null)
+                ? persistedChatMessageRepository.findByRoomIdOrderByIdDesc(roomId, fetchLimit)
+                : persistedChatMessageRepository.findByRoomIdAndIdLessThanOrderByIdDesc(roomId, beforeId, fetchLimit);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ChatMessageHistoryDto> messages = rows.stream()
+                .limit(pageSize)
+                .map(ChatMessageHistoryDto::fromEntity)
+                .collect(Collectors.toList());
+        Long nextBefore = hasMore ? messages.get(messages.size() - 1).getId() : null;
+        return new ChatMessageHistoryPageDto(messages, nextBefore, hasMore);
+    }
+
     /**
      * 사용자가 특정 채팅방의 소유자인지 확인합니다.
      * @param roomId 채팅방 ID
      * @param username 확인할 사용자 이름
      * @return 소유자이면 true, 아니면 false
      */
-    @Transactional(readOnly = true)
     public boolean isRoomOwner(String roomId, String username) {
-        return chatRoomRepository.findByRoomId(roomId)
-                .map(room -> room.getOwnerUsername().equals(username))
-                .orElse(false);
+        // 메시지 전송마다 호출되므로 DB 대신 메타데이터 캐시를 사용합니다.
+        return chatRoomMetadataCache.isOwner(roomId, username);
+    }
+
+    /**
+     * 채팅방이 존재하는지 확인합니다. (메타데이터 캐시 사용)
+     */
+    public boolean roomExists(String roomId) {
+        return chatRoomMetadataCache.get(roomId).isPresent();
+    }
+
+    /**
+     * 채팅방 메타데이터(방장, 이름, 카테고리, 설정)를 조회합니다. (메타데이터 캐시 사용)
+     */
+    public Optional<ChatRoomMetadataCache.RoomMetadata> findRoomMetadata(String roomId) {
+        return chatRoomMetadataCache.get(roomId);
+    }
+
+    /**
+     * 채팅방 이름을 변경합니다.
+     */
+    @Transactional
+    public ChatRoomDto renameRoom(String roomId, String newName) {
+        ChatRoom room = chatRoomRepository.findByRoomId(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다: " + roomId));
+        room.setName(newName);
+        chatRoomRepository.save(room);
+        chatRoomMetadataCache.put(room);
+        return ChatRoomDto.fromEntity(room, chatRoomUserService.countUsersInRoom(roomId));
+    }
+
+    /**
+     * 방장이 채팅방의 slow-mode(메시지 전송 간격)를 설정합니다.
+     * @param roomId 채팅방 ID
+     * @param cooldownSeconds 전송 간격(초). 0이면 제한 없음, null이면 기본 쿨다운으로 되돌림
+     */
+    @Transactional
+    public ChatRoomDto updateSlowMode(String roomId, Integer cooldownSeconds) {
+        ChatRoom room = chatRoomRepository.findByRoomId(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("채팅방을 찾을 수 없습니다: " + roomId));
+        room.setSlowModeSeconds(cooldownSeconds);
+        chatRoomRepository.save(room);
+        chatRoomMetadataCache.put(room);
+        chatRateLimiter.setRoomCooldown(roomId, cooldownSeconds);
+        return ChatRoomDto.fromEntity(room, chatRoomUserService.countUsersInRoom(roomId));
+    }
+
+    /**
+     * 기동 시 DB에 저장된 방별 slow-mode 설정을 속도 제한기에 복원합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void restoreSlowModeSettings() {
+        chatRoomRepository.findBySlowModeSecondsIsNotNull()
+                .forEach(room -> chatRateLimiter.setRoomCooldown(room.getRoomId(), room.getSlowModeSeconds()));
     }
 
     @Transactional // 데이터 변경이 있으므로 트랜잭션 처리
@@ -163,6 +302,43 @@ public class ChatRoomService {
         // 예를 들어, ChatMessageRepository.deleteByRoomId(roomId); 등
 
         chatRoomRepository.delete(roomToDelete); // 또는 deleteById(roomId)
+        chatRoomMetadataCache.invalidate(roomId);
+        recentMessageService.evict(roomId); // 메모리의 최근 메시지 버퍼도 정리
+        chatRateLimiter.removeRoom(roomId);
+        chatMetrics.removeRoom(roomId);
+        hotRoomIndex.remove(roomId);
+        categoryListingCache.invalidate();
         // System.out.println("Chat room deleted: " + roomId); // 간단한 로그
     }
+
+    /**
+     * 여러 방을 한 트랜잭션으로 삭제합니다. (방 수명주기 관리자의 일괄 삭제용)
+     * 이미 삭제된 방은 건너뜁니다.
+     * @return 실제로 삭제된 방 ID 목록
+     */
+    @Transactional
+    public List<String> deleteRooms(Collection<String> roomIds) {
+        List<ChatRoom> roomsToDelete = chatRoomRepository.findAllById(roomIds);
+        chatRoomRepository.deleteAll(roomsToDelete);
+        List<String> deletedRoomIds = roomsToDelete.stream().map(ChatRoom::getRoomId).toList();
+        for (String roomId : deletedRoomIds) {
+            chatRoomMetadataCache.invalidate(roomId);
+            recentMessageService.evict(roomId);
+            chatRateLimiter.removeRoom(roomId);
+            chatMetrics.removeRoom(roomId);
+            hotRoomIndex.remove(roomId);
+        }
+        if (!deletedRoomIds.isEmpty()) {
+            categoryListingCache.invalidate();
+        }
+        return deletedRoomIds;
+    }
+
+    /**
+     * 기준 시각 이전에 만들어진 방의 ID와 방장을 조회합니다. (기동 시 고아 방 정리용)
+     */
+    @Transactional(readOnly = true)
+    public List<ChatRoomRepository.RoomOwner> findRoomOwnersCreatedBefore(LocalDateTime cutoff) {
+        return chatRoomRepository.findRoomOwnersCreatedBefore(cutoff);
+    }
 }
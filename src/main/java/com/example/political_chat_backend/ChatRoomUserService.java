@@ -1,50 +1,322 @@
 package com.example.political_chat_backend;
 
 import org.springframework.stereotype.Service;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
+/**
+ * 채팅방 접속자 레지스트리.
+ * 접속은 STOMP 세션 단위로 기록하고, 방 목록에는 (방, 사용자)마다 접속 중인 세션 수를 참조 카운트로 둡니다.
+ * 같은 사용자가 여러 탭으로 접속해도 마지막 세션이 나갈 때만 퇴장으로 처리되며,
+ * 세션 → 방, 사용자 → 세션 역색인 덕분에 연결 종료/강퇴 시 전체 방을 훑지 않고 해당 방만 갱신합니다.
+ * <p>
+ * 세션은 STOMP 연결(CONNECT) 때 한 번만 등록하고(registerSession), 입장(joinRoom)은 등록된 세션만 허용합니다.
+ * 연결 종료 뒤에 인바운드 실행기에 남아 있던 입장 프레임이 처리되어도 세션이 다시 생기지 않으므로 유령 사용자가 남지 않습니다.
+ */
 @Service
 public class ChatRoomUserService {
 
-    // Key: roomId, Value: 해당 방에 접속한 사용자 닉네임 Set
-    private final Map<String, Set<String>> roomUsers = new ConcurrentHashMap<>();
+    /**
+     * 입장/퇴장으로 발생한 접속자 변화. 변경 후의 방 버전과 인원 수를 함께 담습니다.
+     */
+    public record PresenceUpdate(String roomId, String username, boolean joined, long version, int userCount) {}
+
+    /**
+     * 특정 버전 시점의 방 접속자 목록 (불변)
+     */
+    public record PresenceSnapshot(long version, Set<String> users) {}
+
+    // 방 하나의 접속자 상태. 변경은 방 단위로 동기화하고, 조회용 스냅샷은 불변 Set으로 교체(copy-on-write)합니다.
+    private static final class RoomPresence {
+        // Key: username, Value: 이 방에 접속 중인 해당 사용자의 세션 ID (크기가 참조 카운트)
+        private final Map<String, Set<String>> userSessions = new HashMap<>();
+        private long version = 0;
+        private volatile PresenceSnapshot snapshot = new PresenceSnapshot(0, Collections.emptySet());
+
+        synchronized PresenceUpdate add(String roomId, String sessionId, String username) {
+            Set<String> sessions = userSessions.computeIfAbsent(username, k -> new HashSet<>());
+            if (!sessions.add(sessionId) || sessions.size() > 1) {
+                return null; // 이미 같은 세션으로 입장했거나, 다른 탭으로 이미 접속 중
+            }
+            return publish(roomId, username, true);
+        }
+
+        synchronized PresenceUpdate remove(String roomId, String sessionId, String username) {
+            Set<String> sessions = userSessions.get(username);
+            if (sessions == null || !sessions.remove(sessionId) || !sessions.isEmpty()) {
+                return null; // 해당 세션이 없었거나, 같은 사용자의 다른 세션이 남아 있음
+            }
+            userSessions.remove(username);
+            return publish(roomId, username, false);
+        }
+
+        // 사용자의 모든 세션을 방에서 제거 (강퇴). 제거된 세션 ID를 removedSessions에 담습니다.
+        synchronized PresenceUpdate removeUser(String roomId, String username, Set<String> removedSessions) {
+            Set<String> sessions = userSessions.remove(username);
+            if (sessions == null) {
+                return null;
+            }
+            removedSessions.addAll(sessions);
+            return publish(roomId, username, false);
+        }
+
+        synchronized boolean isEmpty() {
+            return userSessions.isEmpty();
+        }
+
+        private PresenceUpdate publish(String roomId, String username, boolean joined) {
+            version++;
+            snapshot = new PresenceSnapshot(version, Set.copyOf(userSessions.keySet()));
+            return new PresenceUpdate(roomId, username, joined, version, userSessions.size());
+        }
+    }
+
+    // 세션 하나의 사용자와 입장한 방 목록
+    private record SessionPresence(String username, Set<String> roomIds) {}
+
+    private static final PresenceSnapshot EMPTY_SNAPSHOT = new PresenceSnapshot(0, Collections.emptySet());
+
+    // Key: roomId, Value: 해당 방의 접속자 상태
+    private final Map<String, RoomPresence> roomUsers = new ConcurrentHashMap<>();
+    // Key: STOMP sessionId, Value: 세션의 사용자와 입장한 방 (역색인)
+    private final Map<String, SessionPresence> sessions = new ConcurrentHashMap<>();
+    // Key: username, Value: 해당 사용자의 STOMP sessionId (역색인)
+    private final Map<String, Set<String>> userSessions = new ConcurrentHashMap<>();
+    // 삭제 중인 방. 입장할 수 없습니다. (방의 키 잠금 안에서 빈 방인지 확인한 뒤에만 추가)
+    private final Set<String> closingRooms = ConcurrentHashMap.newKeySet();
+    // 입장/퇴장 변경을 받는 리스너 (예: HotRoomIndex). 방 잠금 밖에서 호출됩니다.
+    private final List<Consumer<PresenceUpdate>> presenceListeners = new CopyOnWriteArrayList<>();
 
     /**
-     * 특정 방에 사용자를 추가합니다.
+     * 입장/퇴장으로 방 인원이 바뀔 때마다 호출될 리스너를 등록합니다.
+     * 리스너는 변경을 일으킨 스레드에서 방 잠금 없이 호출되므로, 여러 변경이 순서와 다르게 도착할 수 있습니다.
+     */
+    public void addPresenceListener(Consumer<PresenceUpdate> listener) {
+        presenceListeners.add(listener);
+    }
+
+    private PresenceUpdate notifyListeners(PresenceUpdate update) {
+        if (update != null) {
+            for (Consumer<PresenceUpdate> listener : presenceListeners) {
+                listener.accept(update);
+            }
+        }
+        return update;
+    }
+
+    /**
+     * 연결된 STOMP 세션을 등록합니다. (CONNECT 처리 시 한 번)
+     * 같은 세션 ID로 여러 번 호출되어도 처음 등록만 유지합니다.
+     * @param sessionId STOMP 세션 ID
+     * @param username 인증된 사용자 닉네임
+     */
+    public void registerSession(String sessionId, String username) {
+        SessionPresence session = new SessionPresence(username, ConcurrentHashMap.newKeySet());
+        // removeSession과 같은 세션 잠금 안에서 역색인을 채워, 등록 직후의 연결 종료가 역색인을 남기지 않게 함
+        synchronized (session) {
+            if (sessions.putIfAbsent(sessionId, session) == null) {
+                userSessions.computeIfAbsent(username, k -> ConcurrentHashMap.newKeySet()).add(sessionId);
+            }
+        }
+    }
+
+    /**
+     * 세션을 방에 입장시킵니다.
+     * @param sessionId 등록된 STOMP 세션 ID
      * @param roomId 방 ID
-     * @param username 사용자 닉네임
-     * @return 사용자가 성공적으로 추가되었으면 true, 이미 존재하면 false
+     * @return 변경 내용 (사용자가 다른 세션으로 이미 접속 중이면 null)
+     * @throws IllegalStateException 등록되지 않았거나 이미 연결이 끊긴 세션인 경우, 삭제 중인 방인 경우
      */
-    public boolean addUserToRoom(String roomId, String username) {
-        return roomUsers.computeIfAbsent(roomId, k -> Collections.synchronizedSet(new HashSet<>()))
-                .add(username);
+    public PresenceUpdate joinRoom(String sessionId, String roomId) {
+        SessionPresence session = sessions.get(sessionId);
+        if (session == null) {
+            throw new IllegalStateException("연결되지 않았거나 이미 종료된 세션입니다: " + sessionId);
+        }
+        PresenceUpdate[] update = new PresenceUpdate[1];
+        // 세션 단위 잠금: 연결 종료(removeSession)가 세션을 맵에서 뺀 뒤 입장한 방 목록을 훑는 동안
+        // 이 세션의 입장이 끼어들어, 목록에 없는 방에 세션이 남는(유령 사용자) 경우를 막습니다.
+        synchronized (session) {
+            if (sessions.get(sessionId) != session) {
+                throw new IllegalStateException("입장 처리 중에 연결이 끊긴 세션입니다: " + sessionId);
+            }
+            boolean[] closing = new boolean[1];
+            // 빈 방 정리(evictEmptyRooms), 삭제 표시(tryStartClosingRoom)와 같은 키 잠금 안에서 실행되어,
+            // 제거되는 방 객체나 삭제 중인 방에 입장하는 경우가 없습니다.
+            roomUsers.compute(roomId, (k, presence) -> {
+                if (closingRooms.contains(roomId)) {
+                    closing[0] = true;
+                    return presence;
+                }
+                if (presence == null) {
+                    presence = new RoomPresence();
+                }
+                update[0] = presence.add(roomId, sessionId, session.username());
+                return presence;
+            });
+            if (closing[0]) {
+                throw new IllegalStateException("삭제 중인 방입니다: " + roomId);
+            }
+            session.roomIds().add(roomId);
+        }
+        return notifyListeners(update[0]);
+    }
+
+    /**
+     * 세션을 방에서 퇴장시킵니다. (연결은 유지)
+     * @return 변경 내용 (같은 사용자의 다른 세션이 남아 있거나 입장하지 않았던 경우 null)
+     */
+    public PresenceUpdate leaveRoom(String sessionId, String roomId) {
+        SessionPresence session = sessions.get(sessionId);
+        if (session == null || !session.roomIds().remove(roomId)) {
+            return null;
+        }
+        RoomPresence presence = roomUsers.get(roomId);
+        return notifyListeners(presence != null ? presence.remove(roomId, sessionId, session.username()) : null);
     }
 
     /**
-     * 특정 방에서 사용자를 제거합니다.
+     * 연결이 끊긴 세션을 입장했던 모든 방에서 제거합니다. 해당 세션이 입장한 방만 갱신합니다.
+     * 여러 번 호출되어도 처음 한 번만 변경 내용을 돌려줍니다.
+     * @return 실제로 퇴장 처리된 방의 변경 내용 목록
+     */
+    public List<PresenceUpdate> removeSession(String sessionId) {
+        if (sessionId == null) {
+            return Collections.emptyList();
+        }
+        SessionPresence session = sessions.remove(sessionId);
+        if (session == null) {
+            return Collections.emptyList();
+        }
+        List<PresenceUpdate> updates = new ArrayList<>();
+        // 진행 중인 joinRoom이 끝난 뒤에 방 목록을 훑음 (이후의 joinRoom은 세션이 맵에 없으므로 입장하지 않음)
+        synchronized (session) {
+            userSessions.computeIfPresent(session.username(), (username, ids) -> {
+                ids.remove(sessionId);
+                return ids.isEmpty() ? null : ids;
+            });
+            for (String roomId : session.roomIds()) {
+                RoomPresence presence = roomUsers.get(roomId);
+                PresenceUpdate update = presence != null ? presence.remove(roomId, sessionId, session.username()) : null;
+                if (update != null) {
+                    updates.add(update);
+                }
+            }
+        }
+        updates.forEach(this::notifyListeners);
+        return updates;
+    }
+
+    /**
+     * 특정 방에서 사용자의 모든 세션을 제거합니다. (강퇴)
      * @param roomId 방 ID
      * @param username 사용자 닉네임
-     * @return 사용자가 성공적으로 제거되었으면 true, 해당 사용자가 없었으면 false
+     * @return 변경 내용 (해당 사용자가 없었으면 null)
+     */
+    public PresenceUpdate removeUserFromRoom(String roomId, String username) {
+        RoomPresence presence = roomUsers.get(roomId);
+        if (presence == null) {
+            return null;
+        }
+        Set<String> removedSessions = new HashSet<>();
+        PresenceUpdate update = presence.removeUser(roomId, username, removedSessions);
+        for (String sessionId : removedSessions) {
+            SessionPresence session = sessions.get(sessionId);
+            if (session != null) {
+                session.roomIds().remove(roomId);
+            }
+        }
+        return notifyListeners(update);
+    }
+
+    /**
+     * 사용자를 입장한 모든 방에서 제거합니다. 사용자 → 세션 역색인을 통해 해당 방만 갱신합니다.
+     * @param username 사용자 닉네임
+     * @return 실제로 퇴장 처리된 방의 변경 내용 목록
+     */
+    public List<PresenceUpdate> removeUserFromAllRooms(String username) {
+        Set<String> sessionIds = userSessions.get(username);
+        if (sessionIds == null) {
+            return Collections.emptyList();
+        }
+        Set<String> roomIds = new HashSet<>();
+        for (String sessionId : sessionIds) {
+            SessionPresence session = sessions.get(sessionId);
+            if (session != null) {
+                roomIds.addAll(session.roomIds());
+            }
+        }
+        List<PresenceUpdate> updates = new ArrayList<>();
+        for (String roomId : roomIds) {
+            PresenceUpdate update = removeUserFromRoom(roomId, username);
+            if (update != null) {
+                updates.add(update);
+            }
+        }
+        return updates;
+    }
+
+    /**
+     * 접속자가 없으면 방을 삭제 중으로 표시합니다. 입장(joinRoom)과 같은 방 잠금 안에서 확인하고 표시하므로,
+     * 표시한 뒤에는 finishClosingRoom을 호출할 때까지 이 방에 입장할 수 없습니다.
+     * @return 표시했으면 true, 접속자가 있으면 false
+     */
+    public boolean tryStartClosingRoom(String roomId) {
+        boolean[] marked = new boolean[1];
+        roomUsers.compute(roomId, (k, presence) -> {
+            if (presence == null || presence.isEmpty()) {
+                closingRooms.add(roomId);
+                marked[0] = true;
+            }
+            return presence;
+        });
+        return marked[0];
+    }
+
+    /**
+     * 방 삭제 처리가 끝났을 때(성공, 실패 모두) 삭제 중 표시를 지웁니다.
+     */
+    public void finishClosingRoom(String roomId) {
+        closingRooms.remove(roomId);
+    }
+
+    /**
+     * 접속자가 없는 방의 상태를 메모리에서 제거합니다.
+     * 다시 입장하면 버전 0부터 새로 시작하며, 입장한 세션은 항상 전체 스냅샷을 먼저 받으므로 문제가 없습니다.
+     * @return 제거된 방 수
      */
-    public boolean removeUserFromRoom(String roomId, String username) {
-        Set<String> usersInRoom = roomUsers.get(roomId);
-        if (usersInRoom != null) {
-            return usersInRoom.remove(username);
+    public int evictEmptyRooms() {
+        int before = roomUsers.size();
+        for (String roomId : roomUsers.keySet()) {
+            roomUsers.computeIfPresent(roomId, (k, presence) -> presence.isEmpty() ? null : presence);
         }
-        return false;
+        return Math.max(0, before - roomUsers.size());
+    }
+
+    /**
+     * 특정 방의 접속자 목록과 버전을 일관된 스냅샷으로 가져옵니다.
+     * @param roomId 방 ID
+     * @return 불변 스냅샷 (없으면 버전 0의 빈 스냅샷)
+     */
+    public PresenceSnapshot getPresenceSnapshot(String roomId) {
+        RoomPresence presence = roomUsers.get(roomId);
+        return presence != null ? presence.snapshot : EMPTY_SNAPSHOT;
     }
 
     /**
      * 특정 방의 모든 사용자 닉네임 목록을 가져옵니다.
      * @param roomId 방 ID
-     * @return 해당 방의 사용자 닉네임 Set (없으면 빈 Set)
+     * @return 해당 방의 사용자 닉네임 불변 Set (없으면 빈 Set)
      */
     public Set<String> getUsersInRoom(String roomId) {
-        return roomUsers.getOrDefault(roomId, Collections.emptySet());
+        return getPresenceSnapshot(roomId).users();
     }
 
     /**
@@ -56,13 +328,41 @@ public class ChatRoomUserService {
         return getUsersInRoom(roomId).size();
     }
 
+    // --- 모니터링용 지표 ---
+    public int getRoomCount() { return roomUsers.size(); }
+    public int getSessionCount() { return sessions.size(); }
+    public long getPresenceCount() {
+        return roomUsers.values().stream().mapToLong(presence -> presence.snapshot.users().size()).sum();
+    }
+
     /**
-     * 사용자가 나갈 때, 모든 방에서 해당 사용자를 찾아 제거합니다.
-     * (한 사용자는 여러 방에 동시에 접속할 수 없다는 가정 하에, 또는 세션 ID 기반으로 관리 시 더 유용)
-     * 지금은 특정 방에서만 제거하는 로직을 주로 사용하게 됩니다.
-     * @param username 사용자 닉네임
+     * 접속자가 있는 방별 현재 사용자 수를 가져옵니다. (카테고리별 접속자 합계 집계용)
+     * @return Key: roomId, Value: 사용자 수
+     */
+    public Map<String, Integer> getOccupiedRoomCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        roomUsers.forEach((roomId, presence) -> {
+            int userCount = presence.snapshot.users().size();
+            if (userCount > 0) {
+                counts.put(roomId, userCount);
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * 세션이 입장해 있는 방 ID 목록을 가져옵니다.
+     */
+    public Set<String> getRoomsOfSession(String sessionId) {
+        SessionPresence session = sessions.get(sessionId);
+        return session != null ? Set.copyOf(session.roomIds()) : Collections.emptySet();
+    }
+
+    /**
+     * 사용자의 접속 중인 STOMP 세션 ID 목록을 가져옵니다.
      */
-    public void removeUserFromAllRooms(String username) {
-        roomUsers.forEach((roomId, users) -> users.remove(username));
+    public Set<String> getSessionsOfUser(String username) {
+        Set<String> sessionIds = userSessions.get(username);
+        return sessionIds != null ? Set.copyOf(sessionIds) : Collections.emptySet();
     }
 }
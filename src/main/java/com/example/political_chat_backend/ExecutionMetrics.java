@@ -0,0 +1,205 @@
+package com.example.political_chat_backend;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실행 모드(플랫폼 스레드 풀 / 가상 스레드)별 처리 현황을 수집합니다.
+ * <ul>
+ *     <li>STOMP 채널 실행기: 플랫폼 모드는 스레드 풀의 활성 스레드/대기열, 가상 스레드 모드는 실행 중/완료 작업 수</li>
+ *     <li>가상 스레드 pinning: JFR jdk.VirtualThreadPinned 이벤트 수와 누적 시간</li>
+ *     <li>커넥션 대여 제한 세마포어: 사용 중 허가 수, 대기 스레드 수, 타임아웃 수</li>
+ * </ul>
+ * 같은 부하에서 두 모드를 비교할 수 있도록 주기적으로 요약을 로그로 남깁니다.
+ */
+@Component
+public class ExecutionMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionMetrics.class);
+
+    /**
+     * 직접 계측한 실행기(가상 스레드 실행기)의 작업 수
+     */
+    public static final class ExecutorStats {
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicLong completed = new AtomicLong();
+
+        public int getActive() {
+            return active.get();
+        }
+
+        public long getCompleted() {
+            return completed.get();
+        }
+    }
+
+    private final boolean virtualThreads;
+    private final long pinnedThresholdMs;
+    private final boolean statsLogEnabled;
+    private final ObjectProvider<Executor> inboundPoolExecutor;
+    private final ObjectProvider<Executor> outboundPoolExecutor;
+    private final ObjectProvider<DataSource> dataSource;
+
+    private final Map<String, ExecutorStats> instrumentedExecutors = new LinkedHashMap<>();
+    private final AtomicLong pinnedEvents = new AtomicLong();
+    private final AtomicLong pinnedNanos = new AtomicLong();
+    private RecordingStream pinnedEventStream;
+
+    @Autowired
+    public ExecutionMetrics(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                            @Value("${app.execution.pinned-threshold-ms:20}") long pinnedThresholdMs,
+                            @Value("${app.execution.stats-log-enabled:true}") boolean statsLogEnabled,
+                            @Qualifier("clientInboundChannelExecutor") ObjectProvider<Executor> inboundPoolExecutor,
+                            @Qualifier("clientOutboundChannelExecutor") ObjectProvider<Executor> outboundPoolExecutor,
+                            ObjectProvider<DataSource> dataSource) {
+        this.virtualThreads = virtualThreads;
+        this.pinnedThresholdMs = pinnedThresholdMs;
+        this.statsLogEnabled = statsLogEnabled;
+        this.inboundPoolExecutor = inboundPoolExecutor;
+        this.outboundPoolExecutor = outboundPoolExecutor;
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void startPinnedEventStream() {
+        if (!virtualThreads) {
+            return;
+        }
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(pinnedThresholdMs)).withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", event -> {
+                pinnedEvents.incrementAndGet();
+                pinnedNanos.addAndGet(event.getDuration().toNanos());
+                if (logger.isDebugEnabled() && event.getStackTrace() != null && !event.getStackTrace().getFrames().isEmpty()) {
+                    RecordedFrame top = event.getStackTrace().getFrames().get(0);
+                    logger.debug("Virtual thread pinned for {}ms at {}.{}", event.getDuration().toMillis(),
+                            top.getMethod().getType().getName(), top.getMethod().getName());
+                }
+            });
+            stream.startAsync();
+            pinnedEventStream = stream;
+        } catch (Exception | LinkageError e) {
+            // jdk.jfr 모듈이 없는 런타임 등
+            logger.warn("Virtual thread pinning events are unavailable: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stopPinnedEventStream() {
+        if (pinnedEventStream != null) {
+            pinnedEventStream.close();
+        }
+    }
+
+    /**
+     * 실행기를 감싸 실행 중/완료 작업 수를 기록합니다. (가상 스레드 실행기는 풀 통계가 없으므로)
+     */
+    public synchronized Executor instrument(String name, Executor delegate) {
+        ExecutorStats stats = instrumentedExecutors.computeIfAbsent(name, k -> new ExecutorStats());
+        return task -> delegate.execute(() -> {
+            stats.active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                stats.active.decrementAndGet();
+                stats.completed.incrementAndGet();
+            }
+        });
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public synchronized Map<String, ExecutorStats> getInstrumentedExecutors() {
+        return Map.copyOf(instrumentedExecutors);
+    }
+
+    public long getPinnedEventCount() {
+        return pinnedEvents.get();
+    }
+
+    public long getPinnedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(pinnedNanos.get());
+    }
+
+    /**
+     * 플랫폼 모드의 STOMP 채널 스레드 풀 (가상 스레드 모드에서는 null)
+     */
+    public ThreadPoolTaskExecutor getInboundPoolExecutor() {
+        return asPool(inboundPoolExecutor.getIfAvailable());
+    }
+
+    public ThreadPoolTaskExecutor getOutboundPoolExecutor() {
+        return asPool(outboundPoolExecutor.getIfAvailable());
+    }
+
+    private static ThreadPoolTaskExecutor asPool(Executor executor) {
+        return executor instanceof ThreadPoolTaskExecutor pool ? pool : null;
+    }
+
+    /**
+     * 커넥션 대여 제한기 (가상 스레드 모드에서만 존재, 없으면 null)
+     */
+    public ConnectionLimitingDataSource getConnectionLimiter() {
+        DataSource current = dataSource.getIfAvailable();
+        return current instanceof ConnectionLimitingDataSource limiter ? limiter : null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.execution.stats-log-interval-ms:300000}",
+            initialDelayString = "${app.execution.stats-log-interval-ms:300000}")
+    public void logStats() {
+        if (!statsLogEnabled) {
+            return;
+        }
+        StringBuilder summary = new StringBuilder(virtualThreads ? "mode=virtual" : "mode=platform");
+        appendPool(summary, "inbound", getInboundPoolExecutor());
+        appendPool(summary, "outbound", getOutboundPoolExecutor());
+        getInstrumentedExecutors().forEach((name, stats) -> summary.append(", ").append(name)
+                .append("[active=").append(stats.getActive())
+                .append(", completed=").append(stats.getCompleted()).append(']'));
+        if (virtualThreads) {
+            summary.append(", pinned[events=").append(getPinnedEventCount())
+                    .append(", totalMs=").append(getPinnedMillis()).append(']');
+        }
+        ConnectionLimitingDataSource limiter = getConnectionLimiter();
+        if (limiter != null) {
+            summary.append(", dbPermits[inUse=").append(limiter.getInUse())
+                    .append('/').append(limiter.getMaxConcurrency())
+                    .append(", waiting=").append(limiter.getWaitingThreads())
+                    .append(", timeouts=").append(limiter.getAcquireTimeouts()).append(']');
+        }
+        logger.info("Execution stats: {}", summary);
+    }
+
+    private void appendPool(StringBuilder summary, String name, ThreadPoolTaskExecutor executor) {
+        if (executor == null) {
+            return;
+        }
+        summary.append(", ").append(name)
+                .append("[pool=").append(executor.getPoolSize())
+                .append(", active=").append(executor.getActiveCount())
+                .append(", queued=").append(executor.getQueueSize()).append(']');
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.political_chat_backend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * 가상 스레드 실행 모드 설정.
+ * spring.threads.virtual.enabled=true 이면 Tomcat 요청 처리와 STOMP 채널 처리(WebSocketConfig)가 가상 스레드에서 실행되고,
+ * 커넥션 풀 앞에 동시 대여 수를 제한하는 세마포어(ConnectionLimitingDataSource)를 둡니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ExecutionModeConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionModeConfig.class);
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource
+                        || !environment.getProperty("app.execution.db-limiter.enabled", Boolean.class, true)) {
+                    return bean;
+                }
+                // 기본값은 Hikari 최대 풀 크기와 동일하게 두어, 풀이 감당할 수 있는 만큼만 동시에 커넥션을 요청합니다.
+                int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                int maxConcurrency = environment.getProperty("app.execution.db-limiter.max-concurrency", Integer.class, poolSize);
+                long acquireTimeoutMs = environment.getProperty("app.execution.db-limiter.acquire-timeout-ms", Long.class, 30000L);
+                logger.info("Limiting concurrent connection checkouts on '{}' to {}", beanName, maxConcurrency);
+                return new ConnectionLimitingDataSource(dataSource, maxConcurrency, acquireTimeoutMs);
+            }
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.political_chat_backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 현재 접속자 수 순으로 정렬된 채팅방 색인 ("지금 뜨는 방").
+ * 접속자가 있는 방만 (인원 수 내림차순, roomId) 순서의 skip list에 보관하며, 전체 색인과 카테고리별 색인을 함께 유지합니다.
+ * 입장/퇴장마다 해당 방의 항목 하나만 O(log n)으로 교체하고, 조회는 앞에서부터 limit개만 읽으므로 DB를 사용하지 않습니다.
+ * <p>
+ * 변경 알림은 순서가 뒤바뀌어 도착할 수 있으므로, 알림에 담긴 인원 수 대신 방 단위 잠금(compute) 안에서
+ * 레지스트리의 현재 인원 수를 다시 읽어 반영합니다. 마지막으로 실행된 갱신이 항상 최신 상태를 반영합니다.
+ */
+@Component
+public class HotRoomIndex {
+
+    /**
+     * 색인 항목 (불변)
+     */
+    public record HotRoom(String roomId, String categoryId, int userCount) {}
+
+    private static final Comparator<HotRoom> BY_OCCUPANCY = Comparator
+            .comparingInt(HotRoom::userCount).reversed()
+            .thenComparing(HotRoom::roomId);
+
+    private final ChatRoomUserService chatRoomUserService;
+    private final ChatRoomMetadataCache chatRoomMetadataCache;
+
+    // Key: roomId, Value: 색인에 들어 있는 현재 항목
+    private final Map<String, HotRoom> entries = new ConcurrentHashMap<>();
+    private final NavigableSet<HotRoom> allRooms = new ConcurrentSkipListSet<>(BY_OCCUPANCY);
+    // Key: categoryId, Value: 해당 카테고리의 색인
+    private final Map<String, NavigableSet<HotRoom>> roomsByCategory = new ConcurrentHashMap<>();
+
+    @Autowired
+    public HotRoomIndex(ChatRoomUserService chatRoomUserService, ChatRoomMetadataCache chatRoomMetadataCache) {
+        this.chatRoomUserService = chatRoomUserService;
+        this.chatRoomMetadataCache = chatRoomMetadataCache;
+        chatRoomUserService.addPresenceListener(update -> refresh(update.roomId()));
+    }
+
+    /**
+     * 방의 현재 인원 수로 색인 항목을 갱신합니다. 인원이 0이거나 존재하지 않는 방이면 색인에서 제거합니다.
+     */
+    public void refresh(String roomId) {
+        // 카테고리는 방 잠금 밖에서 조회 (메타데이터 캐시에 없을 때만 DB 조회, 방당 한 번)
+        String categoryId = chatRoomMetadataCache.get(roomId)
+                .map(ChatRoomMetadataCache.RoomMetadata::categoryId)
+                .orElse(null);
+        entries.compute(roomId, (id, previous) -> {
+            int userCount = chatRoomUserService.countUsersInRoom(id);
+            if (previous != null) {
+                if (previous.userCount() == userCount && previous.categoryId() != null
+                        && previous.categoryId().equals(categoryId)) {
+                    return previous;
+                }
+                allRooms.remove(previous);
+                categorySet(previous.categoryId()).remove(previous);
+            }
+            if (userCount == 0 || categoryId == null) {
+                return null;
+            }
+            HotRoom current = new HotRoom(id, categoryId, userCount);
+            allRooms.add(current);
+            categorySet(categoryId).add(current);
+            return current;
+        });
+    }
+
+    /**
+     * 방이 삭제되었을 때 색인에서 제거합니다.
+     */
+    public void remove(String roomId) {
+        entries.computeIfPresent(roomId, (id, previous) -> {
+            allRooms.remove(previous);
+            categorySet(previous.categoryId()).remove(previous);
+            return null;
+        });
+    }
+
+    /**
+     * 접속자가 많은 순으로 방을 조회합니다.
+     * @param categoryId 카테고리 ID (null이면 전체)
+     * @param limit 최대 개수
+     */
+    public List<HotRoom> getHottestRooms(String categoryId, int limit) {
+        NavigableSet<HotRoom> rooms = categoryId != null ? roomsByCategory.get(categoryId) : allRooms;
+        List<HotRoom> result = new ArrayList<>(Math.min(limit, 64));
+        if (rooms == null) {
+            return result;
+        }
+        // 순회 중 인원 수가 바뀐 방은 이전 항목과 새 항목이 모두 보일 수 있으므로 먼저 본 항목만 사용
+        Set<String> seenRoomIds = new HashSet<>();
+        for (HotRoom room : rooms) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (seenRoomIds.add(room.roomId())) {
+                result.add(room);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private NavigableSet<HotRoom> categorySet(String categoryId) {
+        return roomsByCategory.computeIfAbsent(categoryId, k -> new ConcurrentSkipListSet<>(BY_OCCUPANCY));
+    }
+}
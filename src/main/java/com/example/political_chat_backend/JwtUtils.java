@@ -5,25 +5,56 @@ import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException; // 구체적인 예외 타입
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails; // UserDetails 임포트
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key; // Key 임포트
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    // 인증에 필요한 정보를 토큰에 담아, 요청마다 사용자 DB를 조회하지 않도록 합니다.
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_USER_ID = "uid";
+
+    @Autowired
+    private ChatMetrics chatMetrics;
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
     @Value("${app.jwt.expiration-ms}")
     private int jwtExpirationMs;
 
+    @Value("${app.jwt.cache.max-entries:10000}")
+    private int verifiedTokenCacheMaxEntries;
+
+    @Value("${app.jwt.cache.ttl-ms:300000}")
+    private long verifiedTokenCacheTtlMs;
+
     private Key key;
+    private JwtParser jwtParser; // 서명 검증용 파서 (thread-safe, 한 번만 생성)
+
+    // 검증된 토큰 캐시. Key: 토큰의 SHA-256 digest (원본 토큰은 메모리에 보관하지 않음)
+    private final Map<String, VerifiedToken> verifiedTokenCache = new ConcurrentHashMap<>();
+
+    private record VerifiedToken(Claims claims, long cacheExpiresAtMillis) {}
 
     // 생성자 또는 @PostConstruct에서 key 초기화
     @jakarta.annotation.PostConstruct // 또는 javax.annotation.PostConstruct (Spring Boot 3 이전)
@@ -32,14 +63,22 @@ public class JwtUtils {
         // jwtSecret 문자열의 길이가 HMAC-SHA256 (HS256)에 충분한지 확인 필요
         // (일반적으로 256비트 = 32바이트 이상)
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     // Authentication 객체로부터 JWT 토큰 생성
     public String generateJwtToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
 
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        Long userId = (userPrincipal instanceof UserDetailsImpl impl) ? impl.getId() : null;
+
         return Jwts.builder()
                 .setSubject((userPrincipal.getUsername())) // 사용자 이름 (또는 ID)
+                .claim(CLAIM_ROLES, roles) // 역할 목록
+                .claim(CLAIM_USER_ID, userId) // 사용자 ID
                 .setIssuedAt(new Date()) // 발급 시간
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs)) // 만료 시간
                 .signWith(key, SignatureAlgorithm.HS512) // 사용할 암호화 알고리즘과 비밀키
@@ -47,19 +86,39 @@ public class JwtUtils {
                 .compact();
     }
 
-    // JWT 토큰에서 사용자 이름 추출
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getSubject();
-// return Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody().getSubject(); // 이전 방식
+    /**
+     * 토큰을 한 번만 파싱하여 서명과 만료를 검증하고, 검증된 claims를 반환합니다.
+     * 최근에 검증한 토큰은 캐시에서 바로 반환하므로 서명 검증을 다시 하지 않습니다.
+     * @return 유효하면 claims, 유효하지 않으면 null
+     */
+    public Claims parseVerifiedClaims(String authToken) {
+        if (authToken == null || authToken.isEmpty()) {
+            logger.error("JWT claims string is empty");
+            return null;
+        }
+        String digest = digest(authToken);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokenCache.get(digest);
+        if (cached != null) {
+            if (cached.cacheExpiresAtMillis() > now) {
+                chatMetrics.recordJwtCacheHit();
+                return cached.claims();
+            }
+            verifiedTokenCache.remove(digest, cached);
+        }
+
+        long startNanos = System.nanoTime();
+        Claims claims = verifySignature(authToken);
+        chatMetrics.recordJwtVerification(System.nanoTime() - startNanos, claims != null);
+        if (claims != null) {
+            cacheVerifiedToken(digest, claims, now);
+        }
+        return claims;
     }
 
-    // JWT 토큰 유효성 검사
-    public boolean validateJwtToken(String authToken) {
+    private Claims verifySignature(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
-            // Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken); // 이전 방식
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (SignatureException e) { // 이전에는 MalformedJwtException 이었으나 jjwt 0.11.x 부터 변경 가능성 있음, 또는 SecurityException
             logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -71,6 +130,54 @@ public class JwtUtils {
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * 검증된 claims만으로 UserDetails를 만듭니다. (DB 조회 없음)
+     * 역할 claim이 없는 이전 형식의 토큰이면 null을 반환하므로, 호출 측에서 DB 조회로 대체해야 합니다.
+     */
+    public UserDetails buildUserDetailsFromClaims(Claims claims) {
+        Object rolesClaim = claims.get(CLAIM_ROLES);
+        if (!(rolesClaim instanceof Collection<?> roles)) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role)))
+                .toList();
+        Object userIdClaim = claims.get(CLAIM_USER_ID);
+        Long userId = (userIdClaim instanceof Number number) ? number.longValue() : null;
+        return new UserDetailsImpl(userId, claims.getSubject(), "", authorities);
+    }
+
+    private void cacheVerifiedToken(String digest, Claims claims, long now) {
+        // 캐시 만료는 토큰 만료 시각과 캐시 TTL 중 더 이른 시각
+        long expiresAt = now + verifiedTokenCacheTtlMs;
+        if (claims.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+        }
+        if (verifiedTokenCache.size() >= verifiedTokenCacheMaxEntries) {
+            evictExpiredTokens();
+            if (verifiedTokenCache.size() >= verifiedTokenCacheMaxEntries) {
+                return; // 캐시가 가득 차면 저장하지 않음 (메모리 상한 유지)
+            }
+        }
+        verifiedTokenCache.put(digest, new VerifiedToken(claims, expiresAt));
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.cache.evict-interval-ms:60000}")
+    public void evictExpiredTokens() {
+        long now = System.currentTimeMillis();
+        verifiedTokenCache.values().removeIf(token -> token.cacheExpiresAtMillis() <= now);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -0,0 +1,318 @@
+package com.example.political_chat_backend;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 느린 소비자(slow consumer) 보호를 위한 세션별 전송 큐.
+ * <ul>
+ *     <li>프레임은 세션마다 큐에 쌓이고, 세션당 하나의 가상 스레드가 순서대로 전송하므로 느린 세션이 아웃바운드 채널 스레드를 붙잡지 않습니다.</li>
+ *     <li>같은 방의 새 접속자 스냅샷(USER_LIST_UPDATE)이 들어오면 큐에 남아 있는 이전 스냅샷/변경분은 대체되어 버려집니다.</li>
+ *     <li>큐가 byte 한도를 넘으면 접속자 변경분 프레임을 먼저 버리고(클라이언트는 버전 차이로 스냅샷을 다시 요청),
+ *     그래도 넘치거나 한 번의 전송이 시간 한도를 넘으면 세션을 끊습니다.</li>
+ * </ul>
+ * 접속자 프레임은 PresenceBroadcaster가 붙이는 presence-kind / presence-room STOMP 헤더로 식별합니다.
+ */
+@Component
+public class OutboundFlowControl implements WebSocketHandlerDecoratorFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboundFlowControl.class);
+
+    // STOMP 헤더 영역만 검사 (본문은 읽지 않음)
+    private static final int MAX_HEADER_SCAN_BYTES = 1024;
+
+    private final long bufferSizeLimit;
+    private final long sendTimeLimitNanos;
+    private final ExecutorService senderExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ws-outbound-", 0).factory());
+
+    // Key: WebSocket 세션 ID, Value: 해당 세션의 전송 큐
+    private final Map<String, QueuedSession> sessions = new ConcurrentHashMap<>();
+
+    private final AtomicLong delayedFrames = new AtomicLong();
+    private final AtomicLong supersededFrames = new AtomicLong();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong slowSessionDisconnects = new AtomicLong();
+
+    @Autowired
+    public OutboundFlowControl(@Value("${app.websocket.outbound.buffer-size-limit:262144}") long bufferSizeLimit,
+                               @Value("${app.websocket.outbound.send-time-limit-ms:5000}") long sendTimeLimitMs) {
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                QueuedSession queuedSession = new QueuedSession(session);
+                sessions.put(session.getId(), queuedSession);
+                super.afterConnectionEstablished(queuedSession);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                QueuedSession queuedSession = sessions.remove(session.getId());
+                if (queuedSession != null) {
+                    queuedSession.discardQueue();
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    private enum FrameKind { NORMAL, PRESENCE_DELTA, PRESENCE_SNAPSHOT }
+
+    private record QueuedFrame(WebSocketMessage<?> message, FrameKind kind, String presenceRoom, int size) {}
+
+    /**
+     * 세션 하나의 전송 큐. sendMessage는 큐에 넣고 바로 반환하며, 실제 전송은 전송 스레드 하나가 담당합니다.
+     */
+    private final class QueuedSession extends WebSocketSessionDecorator {
+
+        private final Deque<QueuedFrame> queue = new ArrayDeque<>(); // this로 동기화
+        private long bufferedBytes = 0;
+        private final AtomicBoolean sending = new AtomicBoolean(false);
+        private volatile long sendStartNanos = 0;
+        private volatile boolean closing = false;
+
+        QueuedSession(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            if (closing) {
+                return;
+            }
+            QueuedFrame frame = classify(message);
+            boolean overLimit;
+            synchronized (this) {
+                if (frame.kind() == FrameKind.PRESENCE_SNAPSHOT) {
+                    removeSupersededPresence(frame.presenceRoom());
+                }
+                queue.addLast(frame);
+                bufferedBytes += frame.size();
+                if (bufferedBytes > bufferSizeLimit) {
+                    dropPresenceDeltas();
+                }
+                overLimit = bufferedBytes > bufferSizeLimit;
+            }
+            if (sending.get()) {
+                delayedFrames.incrementAndGet();
+                long startedAt = sendStartNanos;
+                if (startedAt != 0 && System.nanoTime() - startedAt > sendTimeLimitNanos) {
+                    disconnectSlowSession("send time limit exceeded");
+                    return;
+                }
+            }
+            if (overLimit) {
+                disconnectSlowSession("outbound buffer limit exceeded");
+                return;
+            }
+            scheduleSend();
+        }
+
+        // 같은 방의 이전 스냅샷과 변경분은 새 스냅샷에 모두 반영되어 있으므로 제거
+        private void removeSupersededPresence(String roomId) {
+            Iterator<QueuedFrame> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                QueuedFrame queued = iterator.next();
+                if (queued.kind() != FrameKind.NORMAL && roomId.equals(queued.presenceRoom())) {
+                    iterator.remove();
+                    bufferedBytes -= queued.size();
+                    supersededFrames.incrementAndGet();
+                }
+            }
+        }
+
+        // 오래된 접속자 변경분부터 버림 (채팅 프레임은 유지)
+        private void dropPresenceDeltas() {
+            Iterator<QueuedFrame> iterator = queue.iterator();
+            while (iterator.hasNext() && bufferedBytes > bufferSizeLimit) {
+                QueuedFrame queued = iterator.next();
+                if (queued.kind() == FrameKind.PRESENCE_DELTA) {
+                    iterator.remove();
+                    bufferedBytes -= queued.size();
+                    droppedFrames.incrementAndGet();
+                }
+            }
+        }
+
+        private void scheduleSend() {
+            if (sending.compareAndSet(false, true)) {
+                senderExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closing) {
+                    QueuedFrame frame;
+                    synchronized (this) {
+                        frame = queue.pollFirst();
+                        if (frame != null) {
+                            bufferedBytes -= frame.size();
+                        }
+                    }
+                    if (frame == null) {
+                        break;
+                    }
+                    sendStartNanos = System.nanoTime();
+                    try {
+                        getDelegate().sendMessage(frame.message());
+                    } finally {
+                        sendStartNanos = 0;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Failed to send frame to session {}: {}", getId(), e.getMessage());
+                closing = true;
+                discardQueue();
+                // 전송에 실패한 세션은 더 이상 쓸 수 없으므로 연결을 닫아 구독/접속자 정리가 진행되게 함
+                try {
+                    getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+                } catch (IOException closeException) {
+                    logger.debug("Failed to close session {} after send failure: {}", getId(), closeException.getMessage());
+                }
+                return;
+            } finally {
+                sending.set(false);
+            }
+            // 전송 종료 직전에 들어온 프레임이 있으면 다시 전송
+            boolean pending;
+            synchronized (this) {
+                pending = !queue.isEmpty();
+            }
+            if (pending && !closing) {
+                scheduleSend();
+            }
+        }
+
+        private void disconnectSlowSession(String reason) {
+            if (closing) {
+                return;
+            }
+            closing = true;
+            slowSessionDisconnects.incrementAndGet();
+            discardQueue();
+            logger.warn("Closing slow WebSocket session {}: {}", getId(), reason);
+            try {
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                logger.debug("Failed to close slow session {}: {}", getId(), e.getMessage());
+            }
+        }
+
+        synchronized void discardQueue() {
+            queue.clear();
+            bufferedBytes = 0;
+        }
+
+        synchronized long getBufferedBytes() {
+            return bufferedBytes;
+        }
+    }
+
+    private static QueuedFrame classify(WebSocketMessage<?> message) {
+        String headers = headerSection(message);
+        String kind = headerValue(headers, PresenceBroadcaster.PRESENCE_KIND_HEADER);
+        FrameKind frameKind = PresenceBroadcaster.PRESENCE_KIND_SNAPSHOT.equals(kind) ? FrameKind.PRESENCE_SNAPSHOT
+                : PresenceBroadcaster.PRESENCE_KIND_DELTA.equals(kind) ? FrameKind.PRESENCE_DELTA
+                : FrameKind.NORMAL;
+        String room = frameKind == FrameKind.NORMAL ? null : headerValue(headers, PresenceBroadcaster.PRESENCE_ROOM_HEADER);
+        if (room == null) {
+            frameKind = FrameKind.NORMAL;
+        }
+        return new QueuedFrame(message, frameKind, room, message.getPayloadLength());
+    }
+
+    // STOMP 프레임의 명령/헤더 부분 (첫 빈 줄 이전)
+    private static String headerSection(WebSocketMessage<?> message) {
+        String head;
+        if (message instanceof TextMessage textMessage) {
+            String payload = textMessage.getPayload();
+            head = payload.substring(0, Math.min(payload.length(), MAX_HEADER_SCAN_BYTES));
+        } else if (message instanceof BinaryMessage binaryMessage) {
+            ByteBuffer buffer = binaryMessage.getPayload().duplicate();
+            byte[] bytes = new byte[Math.min(buffer.remaining(), MAX_HEADER_SCAN_BYTES)];
+            buffer.get(bytes);
+            head = new String(bytes, StandardCharsets.UTF_8);
+        } else {
+            return "";
+        }
+        int end = head.indexOf("\n\n");
+        if (end < 0) {
+            end = head.indexOf("\r\n\r\n");
+        }
+        return end >= 0 ? head.substring(0, end) : head;
+    }
+
+    private static String headerValue(String headers, String name) {
+        String prefix = "\n" + name + ":";
+        int start = headers.indexOf(prefix);
+        if (start < 0) {
+            return null;
+        }
+        start += prefix.length();
+        int end = headers.indexOf('\n', start);
+        return (end < 0 ? headers.substring(start) : headers.substring(start, end)).trim();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senderExecutor.shutdownNow();
+    }
+
+    public long getDelayedFrameCount() {
+        return delayedFrames.get();
+    }
+
+    public long getSupersededFrameCount() {
+        return supersededFrames.get();
+    }
+
+    public long getDroppedFrameCount() {
+        return droppedFrames.get();
+    }
+
+    public long getSlowSessionDisconnectCount() {
+        return slowSessionDisconnects.get();
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public long getBufferedBytes() {
+        return sessions.values().stream().mapToLong(QueuedSession::getBufferedBytes).sum();
+    }
+}
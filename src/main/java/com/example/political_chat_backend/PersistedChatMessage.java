@@ -1,21 +1,31 @@
 package com.example.political_chat_backend;
 
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import jakarta.persistence.EnumType; // EnumType을 위해 추가
 import jakarta.persistence.Enumerated; // Enumerated를 위해 추가
 import java.time.LocalDateTime;
 
 @Entity // 이 클래스가 JPA 엔티티임을 나타냅니다.
+@Table(indexes = {
+        // 방별 이력 조회(keyset 페이지네이션: room_id = ? AND id < ? ORDER BY id DESC)용 복합 인덱스
+        @Index(name = "idx_persisted_chat_message_room_id_id", columnList = "room_id, id")
+})
 public class PersistedChatMessage {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "room_id")
+    private String roomId; // 메시지가 속한 채팅방 ID
+
     private String sender;
     private String content;
 
@@ -26,7 +36,8 @@ public class PersistedChatMessage {
 
     protected PersistedChatMessage() {} // JPA를 위한 기본 생성자
 
-    public PersistedChatMessage(String sender, String content, ChatMessage.MessageType messageType) {
+    public PersistedChatMessage(String roomId, String sender, String content, ChatMessage.MessageType messageType) {
+        this.roomId = roomId;
         this.sender = sender;
         this.content = content;
         this.messageType = messageType;
@@ -35,6 +46,7 @@ public class PersistedChatMessage {
 
     // Getter와 Setter 메소드들 (필요에 따라 추가)
     public Long getId() { return id; }
+    public String getRoomId() { return roomId; }
     public String getSender() { return sender; }
     public String getContent() { return content; }
     public ChatMessage.MessageType getMessageType() { return messageType; }
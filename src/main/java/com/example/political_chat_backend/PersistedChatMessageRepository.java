@@ -1,11 +1,16 @@
 package com.example.political_chat_backend;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-// 필요하다면 나중에 특정 조건으로 메시지를 찾는 메소드를 추가할 수 있습니다.
-// import java.util.List;
+
+import java.util.List;
 
 public interface PersistedChatMessageRepository extends JpaRepository<PersistedChatMessage, Long> {
     // JpaRepository를 상속받는 것만으로 기본적인 DB 작업(save, findById, findAll 등)이 가능합니다.
-    // 예시: 특정 사용자의 메시지 찾기 (나중에 필요하면 주석 해제 후 사용)
-    // List<PersistedChatMessage> findBySenderOrderByTimestampDesc(String sender);
+
+    // 방별 메시지 이력 조회 (keyset 페이지네이션, OFFSET/COUNT 쿼리 없음)
+    // (room_id, id) 복합 인덱스를 역방향으로 탐색하므로 페이지 위치와 무관하게 일정한 비용으로 조회됩니다.
+    List<PersistedChatMessage> findByRoomIdOrderByIdDesc(String roomId, Limit limit);
+
+    List<PersistedChatMessage> findByRoomIdAndIdLessThanOrderByIdDesc(String roomId, Long beforeId, Limit limit);
 }
@@ -2,8 +2,10 @@ package com.example.political_chat_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // 파티션 관리 등 주기 작업 활성화
 public class PoliticalChatBackendApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,172 @@
+package com.example.political_chat_backend;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 방 접속자 변경을 전송합니다.
+ * 입장/퇴장마다 전체 목록 대신 버전이 붙은 변경분(PRESENCE_DELTA)만 방에 브로드캐스트하고,
+ * 전체 목록(USER_LIST_UPDATE)은 입장한 세션이나 버전 차이를 감지한 클라이언트에게만 보냅니다.
+ * 인원이 large-room-threshold를 넘는 방에서는 이름 없이 인원 수와 버전만 보냅니다.
+ * <p>
+ * 입장/퇴장 폭주 시에는 방마다 coalesce-window 동안 변경을 모아 창 하나당 한 번만 브로드캐스트합니다.
+ * 묶인 변경분은 presenceBaseVersion ~ presenceVersion 범위를 가지며, 클라이언트는
+ * presenceVersion이 자신의 버전 이하이면 무시하고, presenceBaseVersion이 자신의 버전보다 크면
+ * 누락이 있으므로 /app/chat.presence/{roomId} 로 스냅샷을 다시 요청합니다.
+ */
+@Component
+public class PresenceBroadcaster {
+
+    public static final String SNAPSHOT_DESTINATION = "/queue/presence";
+    public static final String PRESENCE_KIND_HEADER = "presence-kind";
+    public static final String PRESENCE_ROOM_HEADER = "presence-room";
+    public static final String PRESENCE_KIND_DELTA = "delta";
+    public static final String PRESENCE_KIND_SNAPSHOT = "snapshot";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SessionMessageSender sessionMessageSender;
+    private final ChatRoomUserService chatRoomUserService;
+    private final int largeRoomThreshold;
+    private final long coalesceWindowMs;
+    private final ScheduledExecutorService scheduler;
+
+    // Key: roomId, Value: 현재 창에서 아직 전송하지 않은 변경 (변경이 있는 방만 존재)
+    private final Map<String, PendingPresence> pendingChanges = new ConcurrentHashMap<>();
+
+    // 한 창 동안 모인 방 하나의 변경. pendingChanges.compute() 안에서만 수정됩니다.
+    private static final class PendingPresence {
+        private final Set<String> joined = new LinkedHashSet<>();
+        private final Set<String> left = new LinkedHashSet<>();
+        private long baseVersion = Long.MAX_VALUE;
+        private long version = Long.MIN_VALUE;
+        private int userCount;
+
+        void apply(ChatRoomUserService.PresenceUpdate update) {
+            // 같은 창 안에서 입장 후 퇴장(또는 그 반대)한 사용자는 서로 상쇄
+            if (update.joined()) {
+                if (!left.remove(update.username())) {
+                    joined.add(update.username());
+                }
+            } else if (!joined.remove(update.username())) {
+                left.add(update.username());
+            }
+            baseVersion = Math.min(baseVersion, update.version() - 1);
+            if (update.version() > version) {
+                version = update.version();
+                userCount = update.userCount();
+            }
+        }
+    }
+
+    @Autowired
+    public PresenceBroadcaster(SimpMessagingTemplate messagingTemplate,
+                               SessionMessageSender sessionMessageSender,
+                               ChatRoomUserService chatRoomUserService,
+                               @Value("${app.chat.presence.large-room-threshold:200}") int largeRoomThreshold,
+                               @Value("${app.chat.presence.coalesce-window-ms:200}") long coalesceWindowMs,
+                               @Value("${app.chat.presence.scheduler-threads:1}") int schedulerThreads) {
+        this.messagingTemplate = messagingTemplate;
+        this.sessionMessageSender = sessionMessageSender;
+        this.chatRoomUserService = chatRoomUserService;
+        this.largeRoomThreshold = largeRoomThreshold;
+        this.coalesceWindowMs = coalesceWindowMs;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(Math.max(1, schedulerThreads), runnable -> {
+            Thread thread = new Thread(runnable, "presence-coalescer-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 입장/퇴장 변경분을 방 전체에 브로드캐스트합니다.
+     * coalesce-window가 설정되어 있으면 창이 끝날 때 그 동안의 변경을 하나로 묶어 보냅니다.
+     */
+    public void broadcastChange(ChatRoomUserService.PresenceUpdate update) {
+        if (update == null) {
+            return;
+        }
+        if (coalesceWindowMs <= 0) {
+            PendingPresence single = new PendingPresence();
+            single.apply(update);
+            send(update.roomId(), single);
+            return;
+        }
+        boolean[] firstInWindow = {false};
+        pendingChanges.compute(update.roomId(), (roomId, pending) -> {
+            if (pending == null) {
+                pending = new PendingPresence();
+                firstInWindow[0] = true;
+            }
+            pending.apply(update);
+            return pending;
+        });
+        if (firstInWindow[0]) {
+            // 변경이 생긴 방마다 창 하나당 작업 하나만 예약되므로, 작업 수는 이벤트 수가 아닌 변경된 방 수에 비례합니다.
+            scheduler.schedule(() -> flush(update.roomId()), coalesceWindowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(String roomId) {
+        PendingPresence pending = pendingChanges.remove(roomId);
+        if (pending != null) {
+            send(roomId, pending);
+        }
+    }
+
+    private void send(String roomId, PendingPresence pending) {
+        ChatMessage delta = new ChatMessage();
+        delta.setType(ChatMessage.MessageType.PRESENCE_DELTA);
+        delta.setRoomId(roomId);
+        delta.setSender("System");
+        delta.setUserCount(pending.userCount);
+        delta.setPresenceVersion(pending.version);
+        delta.setPresenceBaseVersion(pending.baseVersion);
+        if (pending.userCount <= largeRoomThreshold) {
+            delta.setJoinedUsers(new ArrayList<>(pending.joined));
+            delta.setLeftUsers(new ArrayList<>(pending.left));
+        }
+        messagingTemplate.convertAndSend("/topic/room/" + roomId, delta,
+                Map.<String, Object>copyOf(presenceHeaders(roomId, PRESENCE_KIND_DELTA)));
+    }
+
+    /**
+     * 한 세션에게만 현재 접속자 전체 목록(스냅샷)을 보냅니다. (/user/queue/presence)
+     */
+    public void sendSnapshot(String roomId, String username, String sessionId) {
+        ChatRoomUserService.PresenceSnapshot snapshot = chatRoomUserService.getPresenceSnapshot(roomId);
+        ChatMessage userListMessage = new ChatMessage();
+        userListMessage.setType(ChatMessage.MessageType.USER_LIST_UPDATE);
+        userListMessage.setRoomId(roomId);
+        userListMessage.setSender("System");
+        userListMessage.setContent("사용자 목록 업데이트");
+        userListMessage.setUsers(snapshot.users());
+        userListMessage.setUserCount(snapshot.users().size());
+        userListMessage.setPresenceVersion(snapshot.version());
+        sessionMessageSender.sendToSession(username, sessionId, SNAPSHOT_DESTINATION, userListMessage,
+                presenceHeaders(roomId, PRESENCE_KIND_SNAPSHOT));
+    }
+
+    // 느린 세션의 전송 큐(OutboundFlowControl)가 접속자 프레임을 식별해 먼저 버리거나 대체할 수 있도록 붙이는 헤더
+    private static Map<String, String> presenceHeaders(String roomId, String kind) {
+        return Map.of(PRESENCE_KIND_HEADER, kind, PRESENCE_ROOM_HEADER, roomId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
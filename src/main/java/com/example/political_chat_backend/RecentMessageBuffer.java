@@ -0,0 +1,54 @@
+package com.example.political_chat_backend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 한 채팅방의 최근 메시지 N개를 보관하는 고정 크기 lock-free 링 버퍼.
+ * 쓰기는 시퀀스 번호를 원자적으로 증가시켜 슬롯을 예약하고, 읽기는 시퀀스가 일치하는 슬롯만
+ * 수집하므로 동시에 덮어쓰는 중인 슬롯은 건너뜁니다.
+ */
+public class RecentMessageBuffer {
+
+    // 슬롯에 기록된 메시지와 그 시퀀스 번호 (읽기 시 덮어쓰기 여부 판별용)
+    private record Slot(long sequence, ChatMessage message) {}
+
+    private final int capacity;
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private volatile long lastAccessNanos = System.nanoTime();
+
+    public RecentMessageBuffer(int capacity) {
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void append(ChatMessage message) {
+        long sequence = nextSequence.getAndIncrement();
+        slots.set((int) (sequence % capacity), new Slot(sequence, message));
+        lastAccessNanos = System.nanoTime();
+    }
+
+    /**
+     * 보관 중인 메시지를 오래된 순서로 반환합니다.
+     */
+    public List<ChatMessage> snapshot() {
+        lastAccessNanos = System.nanoTime();
+        long end = nextSequence.get();
+        long start = Math.max(0, end - capacity);
+        List<ChatMessage> result = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            Slot slot = slots.get((int) (sequence % capacity));
+            if (slot != null && slot.sequence() == sequence) {
+                result.add(slot.message());
+            }
+        }
+        return result;
+    }
+
+    public long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+}
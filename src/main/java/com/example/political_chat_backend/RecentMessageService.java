@@ -0,0 +1,137 @@
+package com.example.political_chat_backend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 방별 최근 메시지 링 버퍼를 관리합니다.
+ * 입장 시 이 버퍼로 이전 대화를 즉시 재생하고, 버퍼가 없는(cold) 방만 첫 입장 때 DB에서 한 번 읽어 채웁니다.
+ * 같은 방에 동시에 입장해도 DB 조회는 방마다 하나만 실행되고, 나머지 입장은 그 결과를 기다립니다.
+ * 메시지 전송 경로(append)는 DB에 접근하지 않습니다.
+ * 버퍼 수는 max-rooms로 제한되며, 초과 시 가장 오래 사용되지 않은 방의 버퍼를 제거합니다.
+ */
+@Service
+public class RecentMessageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentMessageService.class);
+
+    private final PersistedChatMessageRepository persistedChatMessageRepository;
+    private final int bufferSize;
+    private final int maxRooms;
+
+    // Key: roomId, Value: 해당 방의 최근 메시지 링 버퍼 (DB에서 채우는 중이면 아직 완료되지 않은 future)
+    private final Map<String, CompletableFuture<RecentMessageBuffer>> buffers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RecentMessageService(PersistedChatMessageRepository persistedChatMessageRepository,
+                                @Value("${app.chat.recent-buffer.size:50}") int bufferSize,
+                                @Value("${app.chat.recent-buffer.max-rooms:1000}") int maxRooms) {
+        this.persistedChatMessageRepository = persistedChatMessageRepository;
+        this.bufferSize = bufferSize;
+        this.maxRooms = maxRooms;
+    }
+
+    /**
+     * 방의 링 버퍼에 메시지를 추가합니다. (sendMessage 경로, DB 접근 없음)
+     * 버퍼가 없는(cold) 방이면 추가하지 않습니다. 메시지는 write-behind로 DB에 저장되므로
+     * 다음 입장 때 DB에서 버퍼를 채우면서 함께 읽힙니다. 버퍼를 채우는 중이면 완료된 뒤 추가합니다.
+     */
+    public void append(String roomId, ChatMessage message) {
+        CompletableFuture<RecentMessageBuffer> buffer = buffers.get(roomId);
+        if (buffer != null) {
+            buffer.thenAccept(loaded -> loaded.append(message));
+        }
+    }
+
+    /**
+     * 입장한 사용자에게 재생할 최근 메시지를 오래된 순서로 반환합니다.
+     * 버퍼가 cold 상태일 때만 DB에서 최근 메시지를 읽어 버퍼를 채웁니다.
+     */
+    public List<ChatMessage> getRecentMessages(String roomId) {
+        return getOrLoadBuffer(roomId).snapshot();
+    }
+
+    /**
+     * 방이 삭제되었을 때 버퍼를 제거합니다.
+     */
+    public void evict(String roomId) {
+        buffers.remove(roomId);
+    }
+
+    // cold 방이면 먼저 future를 등록한 스레드만 DB를 읽고, 동시에 입장한 나머지는 같은 future를 기다림
+    // (DB 조회는 맵 잠금 밖에서)
+    private RecentMessageBuffer getOrLoadBuffer(String roomId) {
+        CompletableFuture<RecentMessageBuffer> buffer = buffers.get(roomId);
+        if (buffer == null) {
+            CompletableFuture<RecentMessageBuffer> loading = new CompletableFuture<>();
+            buffer = buffers.putIfAbsent(roomId, loading);
+            if (buffer == null) {
+                return load(roomId, loading);
+            }
+        }
+        try {
+            return buffer.join();
+        } catch (CompletionException e) {
+            // 다른 스레드의 조회가 실패함 (그 future는 이미 제거되었으므로 다음 입장에서 다시 시도)
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private RecentMessageBuffer load(String roomId, CompletableFuture<RecentMessageBuffer> loading) {
+        RecentMessageBuffer loaded = new RecentMessageBuffer(bufferSize);
+        try {
+            loadFromDatabase(roomId).forEach(loaded::append);
+        } catch (RuntimeException e) {
+            buffers.remove(roomId, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+        loading.complete(loaded);
+        evictColdBuffersIfNeeded();
+        return loaded;
+    }
+
+    private List<ChatMessage> loadFromDatabase(String roomId) {
+        List<PersistedChatMessage> rows = persistedChatMessageRepository.findByRoomIdOrderByIdDesc(roomId, Limit.of(bufferSize));
+        List<ChatMessage> messages = rows.stream()
+                .map(row -> new ChatMessage(row.getSender(), row.getContent(), row.getMessageType(), row.getRoomId()))
+                .collect(Collectors.toList());
+        Collections.reverse(messages); // 오래된 순서로
+        return messages;
+    }
+
+    // 새 버퍼가 생길 때만 호출되므로 O(방 수) 스캔은 cold 방이 새로 활성화될 때만 발생합니다.
+    private void evictColdBuffersIfNeeded() {
+        while (buffers.size() > maxRooms) {
+            String coldest = null;
+            long coldestAccess = Long.MAX_VALUE;
+            for (Map.Entry<String, CompletableFuture<RecentMessageBuffer>> entry : buffers.entrySet()) {
+                RecentMessageBuffer buffer = entry.getValue().getNow(null);
+                if (buffer == null) {
+                    continue; // 채우는 중인 버퍼는 제거하지 않음
+                }
+                long access = buffer.getLastAccessNanos();
+                if (coldest == null || access - coldestAccess < 0) {
+                    coldest = entry.getKey();
+                    coldestAccess = access;
+                }
+            }
+            if (coldest == null || buffers.remove(coldest) == null) {
+                return;
+            }
+            logger.debug("Evicted recent message buffer of cold room {}", coldest);
+        }
+    }
+}
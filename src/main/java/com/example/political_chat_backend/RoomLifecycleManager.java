@@ -0,0 +1,242 @@
+package com.example.political_chat_backend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅방 수명주기 관리자.
+ * <ul>
+ *     <li>WebSocket 연결 종료와 방 나가기를 하나의 경로로 처리합니다. (LEAVE 알림, 접속자 변경분 전송)</li>
+ *     <li>방장이 나간 방이 비면(방장이 마지막으로 나가거나, 방장이 먼저 나간 뒤 마지막 사용자가 나감) 바로 삭제하지 않고
+ *     유예 시간 뒤에 삭제하므로, 재접속한 방장은 방을 잃지 않습니다. 방장이 있는 동안이나 아직 입장하지 않은 방은 삭제하지 않습니다.</li>
+ *     <li>삭제는 이벤트 스레드가 아닌 주기 작업에서 한 트랜잭션으로 묶어 처리하고, 빈 접속자 항목도 함께 정리합니다.
+ *     삭제하는 동안 방은 삭제 중으로 표시되어 입장이 거절됩니다.</li>
+ *     <li>접속자 수는 인스턴스 메모리에만 있으므로, 다중 인스턴스(relay) 구성에서는 다른 인스턴스에 접속자가 남은 방을
+ *     지우지 않도록 빈 방 자동 삭제와 기동 시 정리를 사용하지 않습니다.</li>
+ *     <li>(선택) 기동 시 방장이 접속해 있지 않은 오래된 빈 방(비정상 종료로 남은 방)을 유예 시간 뒤 삭제 대상으로 등록합니다.</li>
+ * </ul>
+ */
+@Component
+public class RoomLifecycleManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomLifecycleManager.class);
+
+    private final ChatRoomUserService chatRoomUserService;
+    private final ChatRoomService chatRoomService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PresenceBroadcaster presenceBroadcaster;
+    private final long emptyRoomGraceNanos;
+    private final long startupGraceSeconds;
+    private final long startupGraceNanos;
+    private final int deleteBatchSize;
+    private final boolean reconcileOnStartup;
+    // relay 모드에서는 다른 인스턴스의 접속자를 알 수 없으므로 빈 방 자동 삭제를 끕니다.
+    private final boolean emptyRoomDeletionEnabled;
+
+    // Key: roomId, Value: 삭제 예정 시각 (System.nanoTime 기준)
+    private final Map<String, Long> pendingDeletions = new ConcurrentHashMap<>();
+    // 방장이 나간 뒤 아직 돌아오지 않은 방. 이 방들만 비었을 때 삭제 대상이 됩니다.
+    private final Set<String> ownerAbsentRooms = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public RoomLifecycleManager(ChatRoomUserService chatRoomUserService,
+                                ChatRoomService chatRoomService,
+                                SimpMessagingTemplate messagingTemplate,
+                                PresenceBroadcaster presenceBroadcaster,
+                                @Value("${app.chat.room-lifecycle.empty-room-grace-seconds:60}") long emptyRoomGraceSeconds,
+                                @Value("${app.chat.room-lifecycle.startup-grace-seconds:300}") long startupGraceSeconds,
+                                @Value("${app.chat.room-lifecycle.delete-batch-size:100}") int deleteBatchSize,
+                                @Value("${app.chat.room-lifecycle.reconcile-on-startup:false}") boolean reconcileOnStartup,
+                                @Value("${app.websocket.broker.mode:simple}") String brokerMode) {
+        this.chatRoomUserService = chatRoomUserService;
+        this.chatRoomService = chatRoomService;
+        this.messagingTemplate = messagingTemplate;
+        this.presenceBroadcaster = presenceBroadcaster;
+        this.emptyRoomGraceNanos = TimeUnit.SECONDS.toNanos(emptyRoomGraceSeconds);
+        this.startupGraceSeconds = startupGraceSeconds;
+        this.startupGraceNanos = TimeUnit.SECONDS.toNanos(startupGraceSeconds);
+        this.deleteBatchSize = Math.max(1, deleteBatchSize);
+        this.reconcileOnStartup = reconcileOnStartup;
+        this.emptyRoomDeletionEnabled = !"relay".equalsIgnoreCase(brokerMode);
+        if (!emptyRoomDeletionEnabled) {
+            logger.info("Broker mode is relay: empty-room deletion and startup reconciliation are disabled.");
+        }
+    }
+
+    /**
+     * 인증된 STOMP 연결을 접속자 레지스트리에 등록합니다. 등록된 세션만 방에 입장할 수 있습니다.
+     * 이 이벤트는 CONNECT 프레임을 받은 전송 스레드에서 발행되므로 같은 세션의 연결 종료 이벤트보다 항상 먼저 처리됩니다.
+     */
+    @EventListener
+    public void handleWebSocketConnectListener(SessionConnectEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        Principal user = event.getUser();
+        if (sessionId == null || user == null) {
+            logger.debug("Session {} connected without authentication; it cannot join rooms", sessionId);
+            return;
+        }
+        chatRoomUserService.registerSession(sessionId, user.getName());
+    }
+
+    @EventListener
+    public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
+        String sessionId = event.getSessionId();
+        // 세션이 입장했던 방만 갱신됩니다.
+        List<ChatRoomUserService.PresenceUpdate> presenceUpdates = chatRoomUserService.removeSession(sessionId);
+        if (presenceUpdates.isEmpty()) {
+            logger.debug("No room presence to clean up for session {}", sessionId);
+            return;
+        }
+        presenceUpdates.forEach(this::handleUserLeft);
+    }
+
+    /**
+     * 사용자가 방에서 완전히 나갔을 때(마지막 세션 종료, 방 나가기) 호출됩니다.
+     */
+    public void handleUserLeft(ChatRoomUserService.PresenceUpdate presenceUpdate) {
+        if (presenceUpdate == null) {
+            return;
+        }
+        String roomId = presenceUpdate.roomId();
+        String username = presenceUpdate.username();
+        logger.debug("User {} left room {}", username, roomId);
+
+        // 이 인스턴스에서 마지막 사용자가 나가도 다른 인스턴스(relay)의 구독자가 있을 수 있으므로 항상 알립니다.
+        ChatMessage leaveMessage = new ChatMessage();
+        leaveMessage.setType(ChatMessage.MessageType.LEAVE);
+        leaveMessage.setSender(username);
+        leaveMessage.setContent(username + " 님이 퇴장했습니다.");
+        leaveMessage.setRoomId(roomId);
+        messagingTemplate.convertAndSend("/topic/room/" + roomId, leaveMessage);
+
+        // 접속자 변경분 브로드캐스트
+        presenceBroadcaster.broadcastChange(presenceUpdate);
+
+        if (!emptyRoomDeletionEnabled) {
+            return;
+        }
+        if (chatRoomService.isRoomOwner(roomId, username)) {
+            ownerAbsentRooms.add(roomId);
+        }
+        if (presenceUpdate.userCount() == 0) {
+            if (!chatRoomService.roomExists(roomId)) {
+                ownerAbsentRooms.remove(roomId); // 이미 삭제된 방
+            } else if (ownerAbsentRooms.contains(roomId)) {
+                // 방장이 나가면서(또는 방장이 먼저 나간 뒤 마지막 사용자가 나가면서) 방이 비었음. 유예 시간 뒤 삭제
+                scheduleDeletion(roomId, emptyRoomGraceNanos);
+                logger.info("Room {} is empty after {} left and its owner is away. Scheduled for deletion.", roomId, username);
+            }
+        }
+    }
+
+    /**
+     * 사용자가 방에 입장하면 예정된 삭제를 취소합니다. 방장이 돌아오면 방장 부재 표시도 지웁니다.
+     */
+    public void handleUserJoined(String roomId, String username) {
+        if (chatRoomService.isRoomOwner(roomId, username)) {
+            ownerAbsentRooms.remove(roomId);
+        }
+        if (pendingDeletions.remove(roomId) != null) {
+            logger.info("Deletion of room {} cancelled: a user rejoined.", roomId);
+        }
+    }
+
+    /**
+     * 기동 시 비정상 종료로 남은 방을 삭제 대상으로 등록합니다. (기본값: 비활성화)
+     * 접속자 정보는 메모리에만 있어 기동 직후에는 모든 방이 비어 있으므로, startup-grace 이전에 만들어졌고
+     * 방장이 접속해 있지 않은 빈 방만 등록하며, startup-grace 동안 아무도 입장하지 않아야 삭제됩니다.
+     * 다른 인스턴스의 접속자는 알 수 없으므로, 다중 인스턴스(relay) 구성에서는 설정과 관계없이 실행하지 않습니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOrphanedRooms() {
+        if (!reconcileOnStartup || !emptyRoomDeletionEnabled) {
+            return;
+        }
+        try {
+            int scheduled = 0;
+            LocalDateTime cutoff = LocalDateTime.now().minusSeconds(startupGraceSeconds);
+            for (ChatRoomRepository.RoomOwner room : chatRoomService.findRoomOwnersCreatedBefore(cutoff)) {
+                String roomId = room.getRoomId();
+                if (chatRoomUserService.countUsersInRoom(roomId) == 0
+                        && chatRoomUserService.getSessionsOfUser(room.getOwnerUsername()).isEmpty()) {
+                    ownerAbsentRooms.add(roomId);
+                    scheduleDeletion(roomId, startupGraceNanos);
+                    scheduled++;
+                }
+            }
+            if (scheduled > 0) {
+                logger.info("Startup reconciliation: {} rooms without users scheduled for deletion.", scheduled);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to reconcile orphaned rooms: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 유예 시간이 지난 빈 방을 일괄 삭제하고, 접속자가 없는 방 항목을 메모리에서 정리합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.chat.room-lifecycle.sweep-interval-ms:5000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        List<String> dueRooms = new ArrayList<>();
+        pendingDeletions.forEach((roomId, deadline) -> {
+            if (now - deadline >= 0 && pendingDeletions.remove(roomId, deadline)) {
+                dueRooms.add(roomId);
+            }
+        });
+
+        for (int from = 0; from < dueRooms.size(); from += deleteBatchSize) {
+            // 유예 시간 동안 다시 입장한 사용자가 있으면 삭제하지 않음. 비어 있는 방은 삭제가 끝날 때까지 입장을 막음
+            List<String> batch = new ArrayList<>();
+            for (String roomId : dueRooms.subList(from, Math.min(from + deleteBatchSize, dueRooms.size()))) {
+                if (chatRoomUserService.tryStartClosingRoom(roomId)) {
+                    batch.add(roomId);
+                }
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                List<String> deleted = chatRoomService.deleteRooms(batch);
+                deleted.forEach(ownerAbsentRooms::remove);
+                logger.info("Deleted {} empty rooms: {}", deleted.size(), deleted);
+            } catch (Exception e) {
+                logger.error("Failed to delete empty rooms {}: {}", batch, e.getMessage(), e);
+            } finally {
+                batch.forEach(chatRoomUserService::finishClosingRoom);
+            }
+        }
+
+        int evicted = chatRoomUserService.evictEmptyRooms();
+        if (evicted > 0) {
+            logger.debug("Evicted {} empty presence entries", evicted);
+        }
+    }
+
+    public int getPendingDeletionCount() {
+        return pendingDeletions.size();
+    }
+
+    private void scheduleDeletion(String roomId, long graceNanos) {
+        pendingDeletions.put(roomId, System.nanoTime() + graceNanos);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.political_chat_backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @Autowired
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * 채팅방 이름, 메시지 이력, 공지사항을 검색합니다. (로그인 필요)
+     * 결과는 관련도순이며, 다음 페이지는 응답의 nextCursor를 after로 넘겨 조회합니다.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(defaultValue = "rooms") String scope,
+                                    @RequestParam(required = false) String room, // messages 범위에서 특정 방으로 제한
+                                    @RequestParam(required = false) String after,
+                                    @RequestParam(defaultValue = "" + SearchService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            return ResponseEntity.ok(searchService.search(q, scope, room, after, limit));
+        } catch (IllegalArgumentException e) { // 검색어 길이, 범위, 커서 오류
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) { // 검색 비활성화 또는 시간 한도 초과
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+}
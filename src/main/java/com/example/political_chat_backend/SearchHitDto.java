@@ -0,0 +1,62 @@
+package com.example.political_chat_backend;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색 결과 한 건 (GET /api/search). 범위(scope)에 따라 채워지는 필드가 다릅니다.
+ * <ul>
+ *     <li>rooms: id = roomId, title = 방 이름, categoryId, author = 방장</li>
+ *     <li>messages: id = 메시지 ID, snippet = 메시지 본문, roomId, author = 보낸 사람</li>
+ *     <li>announcements: id = 공지사항 ID, title, snippet = 본문 중 일치 부분 주변, author</li>
+ * </ul>
+ */
+public class SearchHitDto {
+    private String id;
+    private String title;
+    private String snippet;
+    private String roomId;
+    private String categoryId;
+    private String author;
+    private LocalDateTime createdAt;
+    private float score; // trigram 유사도 (클수록 관련도 높음)
+
+    // 기본 생성자
+    public SearchHitDto() {}
+
+    public SearchHitDto(String id, String title, String snippet, String roomId, String categoryId,
+                        String author, LocalDateTime createdAt, float score) {
+        this.id = id;
+        this.title = title;
+        this.snippet = snippet;
+        this.roomId = roomId;
+        this.categoryId = categoryId;
+        this.author = author;
+        this.createdAt = createdAt;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getSnippet() { return snippet; }
+    public void setSnippet(String snippet) { this.snippet = snippet; }
+
+    public String getRoomId() { return roomId; }
+    public void setRoomId(String roomId) { this.roomId = roomId; }
+
+    public String getCategoryId() { return categoryId; }
+    public void setCategoryId(String categoryId) { this.categoryId = categoryId; }
+
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public float getScore() { return score; }
+    public void setScore(float score) { this.score = score; }
+}
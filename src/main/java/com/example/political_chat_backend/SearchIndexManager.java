@@ -0,0 +1,152 @@
+package com.example.political_chat_backend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 검색용 pg_trgm 확장과 trigram GIN 인덱스를 준비합니다. (PostgreSQL 전용)
+ * <ul>
+ *     <li>한국어는 PostgreSQL 기본 text search 설정으로 형태소 분석이 되지 않아 tsvector 대신 trigram을 사용합니다.
+ *     ("정부가", "정부는" 같은 조사 결합형도 "정부"와 부분 일치)</li>
+ *     <li>인덱스는 채팅방 이름, 메시지 본문, 공지사항 제목/본문에 만들며, 운영 중 쓰기를 막지 않도록 CONCURRENTLY로 만듭니다.</li>
+ *     <li>파티션 테이블에는 CONCURRENTLY를 쓸 수 없으므로 부모에 ON ONLY로 빈 인덱스를 만들고, 파티션마다 CONCURRENTLY로
+ *     만든 인덱스를 ATTACH PARTITION으로 붙입니다. 모든 파티션이 붙으면 부모 인덱스가 유효해지고,
+ *     이후 생성되는 월별 파티션에는 자동으로 적용됩니다.</li>
+ *     <li>실패한 CONCURRENTLY 빌드가 남긴 무효(invalid) 인덱스는 다음 기동 때 지우고 다시 만듭니다.</li>
+ *     <li>확장을 만들 권한이 없거나 PostgreSQL이 아니면 검색을 비활성화합니다. (SearchService가 503 응답)</li>
+ * </ul>
+ */
+@Component
+public class SearchIndexManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexManager.class);
+
+    // 인덱스 이름, 테이블, 컬럼
+    private static final List<String[]> TRIGRAM_INDEXES = List.of(
+            new String[]{"idx_chat_room_name_trgm", "chat_room", "name"},
+            new String[]{"idx_persisted_chat_message_content_trgm", "persisted_chat_message", "content"},
+            new String[]{"idx_announcements_title_trgm", "announcements", "title"},
+            new String[]{"idx_announcements_content_trgm", "announcements", "content"}
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    private volatile boolean active = false;
+
+    @Autowired
+    public SearchIndexManager(JdbcTemplate jdbcTemplate,
+                              @Value("${app.search.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 메시지 파티션 전환(ChatMessagePartitionManager) 이후에 실행되어 검색 인덱스를 준비합니다.
+     * 인덱스가 이미 있으면 아무것도 하지 않습니다. 처음 만들 때는 테이블 크기에 비례한 시간이 걸리지만 쓰기는 막지 않습니다.
+     * (JdbcTemplate의 autocommit 커넥션에서 실행되어야 함: CONCURRENTLY는 트랜잭션 안에서 실행할 수 없음)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            logger.info("Search is disabled: unsupported database '{}'", product);
+            return;
+        }
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            for (String[] index : TRIGRAM_INDEXES) {
+                String definition = " USING gin (" + index[2] + " gin_trgm_ops)";
+                if ("p".equals(findRelkind(index[1]))) {
+                    createPartitionedIndex(index[0], index[1], index[2], definition);
+                } else {
+                    createIndexConcurrently(index[0], index[1], definition);
+                }
+            }
+            active = true;
+            logger.info("Search indexes are ready");
+        } catch (Exception e) {
+            logger.error("Failed to prepare search indexes (pg_trgm extension required): {}", e.getMessage(), e);
+        }
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    private void createIndexConcurrently(String indexName, String table, String definition) {
+        Boolean valid = findIndexValidity(indexName);
+        if (Boolean.TRUE.equals(valid)) {
+            return;
+        }
+        if (valid != null) {
+            logger.warn("Rebuilding invalid search index {}", indexName);
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + indexName);
+        }
+        logger.info("Creating search index {} on {}", indexName, table);
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY " + indexName + " ON " + table + definition);
+    }
+
+    private void createPartitionedIndex(String indexName, String parentTable, String column, String definition) {
+        if (Boolean.TRUE.equals(findIndexValidity(indexName))) {
+            return;
+        }
+        // 부모에만 만드는 인덱스는 카탈로그 변경뿐이라 즉시 끝나며, 파티션이 모두 붙기 전까지는 무효 상태
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + indexName + " ON ONLY " + parentTable + definition);
+        for (String partition : findPartitions(parentTable)) {
+            if (hasAttachedIndex(indexName, partition)) {
+                continue;
+            }
+            String partitionIndexName = partition + "_" + column + "_trgm";
+            createIndexConcurrently(partitionIndexName, partition, definition);
+            jdbcTemplate.execute("ALTER INDEX " + indexName + " ATTACH PARTITION " + partitionIndexName);
+        }
+    }
+
+    private String findRelkind(String table) {
+        return jdbcTemplate.query(
+                "SELECT c.relkind FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                        "WHERE c.relname = ? AND n.nspname = current_schema()",
+                rs -> rs.next() ? rs.getString(1) : null, table);
+    }
+
+    // 인덱스가 없으면 null
+    private Boolean findIndexValidity(String indexName) {
+        return jdbcTemplate.query(
+                "SELECT x.indisvalid FROM pg_index x JOIN pg_class c ON c.oid = x.indexrelid " +
+                        "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                        "WHERE c.relname = ? AND n.nspname = current_schema()",
+                rs -> rs.next() ? rs.getBoolean(1) : null, indexName);
+    }
+
+    private List<String> findPartitions(String parentTable) {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "JOIN pg_namespace n ON n.oid = p.relnamespace " +
+                        "WHERE p.relname = ? AND n.nspname = current_schema()",
+                String.class, parentTable);
+    }
+
+    // 파티션에 부모 인덱스와 연결된 인덱스가 이미 있는지 (이전 실행 또는 파티션 생성 시 자동으로 붙은 경우)
+    private boolean hasAttachedIndex(String parentIndexName, String partition) {
+        Boolean attached = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_inherits i JOIN pg_index x ON x.indexrelid = i.inhrelid " +
+                        "WHERE i.inhparent = CAST(? AS regclass) AND x.indrelid = CAST(? AS regclass))",
+                Boolean.class, parentIndexName, partition);
+        return Boolean.TRUE.equals(attached);
+    }
+}
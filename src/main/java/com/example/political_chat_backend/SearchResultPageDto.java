@@ -0,0 +1,35 @@
+package com.example.political_chat_backend;
+
+import java.util.List;
+
+/**
+ * 검색 결과의 한 페이지 (관련도순, keyset 페이지네이션).
+ * 다음 페이지는 nextCursor 값을 after 파라미터로 넘겨 조회합니다.
+ */
+public class SearchResultPageDto {
+    private String scope;
+    private List<SearchHitDto> results; // 관련도(score) 내림차순
+    private String nextCursor;          // 다음 페이지 조회용 커서 (더 없으면 null)
+    private boolean hasMore;
+
+    public SearchResultPageDto() {}
+
+    public SearchResultPageDto(String scope, List<SearchHitDto> results, String nextCursor, boolean hasMore) {
+        this.scope = scope;
+        this.results = results;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public String getScope() { return scope; }
+    public void setScope(String scope) { this.scope = scope; }
+
+    public List<SearchHitDto> getResults() { return results; }
+    public void setResults(List<SearchHitDto> results) { this.results = results; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
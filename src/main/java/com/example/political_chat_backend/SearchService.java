@@ -0,0 +1,265 @@
+package com.example.political_chat_backend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 채팅방 이름, 메시지 이력, 공지사항 검색 (PostgreSQL pg_trgm, 인덱스는 SearchIndexManager가 준비).
+ * <ul>
+ *     <li>후보는 trigram GIN 인덱스로 찾습니다: 단어 유사도(<%) 조건과, 3자 이상이면 부분 일치(ILIKE) 조건.
+ *     2자 검색어는 trigram을 뽑을 수 없어 ILIKE가 인덱스 전체를 훑게 되므로 단어 유사도만 사용합니다.</li>
+ *     <li>관련도(word_similarity) 내림차순, 같은 점수는 ID 내림차순으로 정렬하고 (score, id) keyset으로 페이지를 나눕니다.</li>
+ *     <li>메시지는 최근 window-days 일만 검색하여 월별 파티션 중 필요한 것만 읽습니다.</li>
+ *     <li>한 번의 검색은 timeout-ms 안에 끝나야 하며, 넘으면 DB가 쿼리를 취소하고 503을 응답합니다.</li>
+ * </ul>
+ */
+@Service
+public class SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 50;
+    private static final int MIN_QUERY_LENGTH = 2;
+    private static final int MAX_QUERY_LENGTH = 100;
+    // 이보다 짧은 검색어는 부분 일치(ILIKE) 조건을 쓰지 않음
+    private static final int MIN_SUBSTRING_QUERY_LENGTH = 3;
+    // 공지사항 본문 중 일치 위치 앞쪽으로 포함할 글자 수와 스니펫 길이
+    private static final int SNIPPET_LEADING_CHARS = 40;
+    private static final int SNIPPET_LENGTH = 200;
+    private static final String QUERY_CANCELED_SQL_STATE = "57014";
+
+    public enum Scope {
+        ROOMS, MESSAGES, ANNOUNCEMENTS;
+
+        static Scope from(String value) {
+            for (Scope scope : values()) {
+                if (scope.name().equalsIgnoreCase(value)) {
+                    return scope;
+                }
+            }
+            throw new IllegalArgumentException("검색 범위는 rooms, messages, announcements 중 하나여야 합니다: " + value);
+        }
+    }
+
+    // (score, key) keyset 커서. 형식: "{score}:{key}" (score는 float 문자열이므로 ':'를 포함하지 않음)
+    private record Cursor(float score, String key) {
+
+        static Cursor parse(String value) {
+            int separator = value.indexOf(':');
+            if (separator <= 0 || separator == value.length() - 1) {
+                throw new IllegalArgumentException("잘못된 검색 커서입니다: " + value);
+            }
+            try {
+                return new Cursor(Float.parseFloat(value.substring(0, separator)), value.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("잘못된 검색 커서입니다: " + value);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return score + ":" + key;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SearchIndexManager searchIndexManager;
+    private final long timeoutMs;
+    private final int messageWindowDays;
+    private final double wordSimilarityThreshold;
+
+    @Autowired
+    public SearchService(JdbcTemplate jdbcTemplate,
+                         SearchIndexManager searchIndexManager,
+                         @Value("${app.search.timeout-ms:1500}") long timeoutMs,
+                         @Value("${app.search.messages.window-days:90}") int messageWindowDays,
+                         @Value("${app.search.word-similarity-threshold:0.5}") double wordSimilarityThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.searchIndexManager = searchIndexManager;
+        this.timeoutMs = timeoutMs;
+        this.messageWindowDays = messageWindowDays;
+        this.wordSimilarityThreshold = wordSimilarityThreshold;
+    }
+
+    /**
+     * 검색합니다.
+     * @param query 검색어 (앞뒤 공백 제외 MIN_QUERY_LENGTH ~ MAX_QUERY_LENGTH자)
+     * @param scope rooms, messages, announcements
+     * @param roomId messages 범위에서 특정 방으로 제한 (null이면 전체 방)
+     * @param after 이전 페이지의 nextCursor (null이면 첫 페이지)
+     * @param limit 페이지 크기 (1 ~ MAX_PAGE_SIZE)
+     * @throws IllegalArgumentException 검색어, 범위, 커서가 잘못된 경우
+     * @throws IllegalStateException 검색을 사용할 수 없거나 시간 한도를 넘은 경우
+     */
+    @Transactional(readOnly = true)
+    public SearchResultPageDto search(String query, String scope, String roomId, String after, int limit) {
+        String term = query == null ? "" : query.strip();
+        if (term.length() < MIN_QUERY_LENGTH || term.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "검색어는 " + MIN_QUERY_LENGTH + "자 이상 " + MAX_QUERY_LENGTH + "자 이하여야 합니다.");
+        }
+        Scope searchScope = Scope.from(scope);
+        Cursor cursor = after != null && !after.isBlank() ? Cursor.parse(after) : null;
+        if (cursor != null && searchScope != Scope.ROOMS) {
+            parseLongKey(cursor); // 메시지/공지사항 커서의 key는 숫자 ID
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        if (!searchIndexManager.isActive()) {
+            throw new IllegalStateException("검색을 사용할 수 없습니다.");
+        }
+
+        try {
+            // 트랜잭션 범위에서만 적용 (커넥션 풀로 돌아간 뒤에는 원래 값)
+            jdbcTemplate.queryForObject("SELECT set_config('statement_timeout', ?, true)", String.class,
+                    String.valueOf(timeoutMs));
+            jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)", String.class,
+                    String.valueOf(wordSimilarityThreshold));
+
+            // 다음 페이지 존재 여부를 COUNT 없이 판단하기 위해 한 건 더 조회
+            List<SearchHitDto> rows = switch (searchScope) {
+                case ROOMS -> searchRooms(term, cursor, pageSize + 1);
+                case MESSAGES -> searchMessages(term, roomId, cursor, pageSize + 1);
+                case ANNOUNCEMENTS -> searchAnnouncements(term, cursor, pageSize + 1);
+            };
+
+            boolean hasMore = rows.size() > pageSize;
+            List<SearchHitDto> results = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+            String nextCursor = null;
+            if (hasMore) {
+                SearchHitDto last = results.get(results.size() - 1);
+                nextCursor = new Cursor(last.getScore(), last.getId()).toString();
+            }
+            return new SearchResultPageDto(searchScope.name().toLowerCase(Locale.ROOT), results, nextCursor, hasMore);
+        } catch (DataAccessException e) {
+            if (e.getMostSpecificCause() instanceof SQLException sqlException
+                    && QUERY_CANCELED_SQL_STATE.equals(sqlException.getSQLState())) {
+                logger.warn("Search timed out after {}ms: scope={}, query length={}", timeoutMs, searchScope, term.length());
+                throw new IllegalStateException("검색 시간이 초과되었습니다. 검색어를 더 구체적으로 입력해 주세요.");
+            }
+            throw e;
+        }
+    }
+
+    private List<SearchHitDto> searchRooms(String term, Cursor cursor, int fetchLimit) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(
+                "SELECT room_id, name, category_id, owner_username, created_at, score FROM (" +
+                "SELECT r.room_id, r.name, r.category_id, r.owner_username, r.created_at, " +
+                "word_similarity(?, r.name) AS score FROM chat_room r WHERE ");
+        params.add(term);
+        appendMatchCondition(sql, params, term, "r.name");
+        sql.append(") s");
+        appendKeysetAndLimit(sql, params, cursor, "s.room_id", cursor != null ? cursor.key() : null, fetchLimit);
+
+        return jdbcTemplate.query(sql.toString(), (RowMapper<SearchHitDto>) (rs, rowNum) -> new SearchHitDto(
+                rs.getString("room_id"), rs.getString("name"), null, rs.getString("room_id"),
+                rs.getString("category_id"), rs.getString("owner_username"),
+                toLocalDateTime(rs.getTimestamp("created_at")), rs.getFloat("score")), params.toArray());
+    }
+
+    private List<SearchHitDto> searchMessages(String term, String roomId, Cursor cursor, int fetchLimit) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, room_id, sender, content, \"timestamp\", score FROM (" +
+                "SELECT m.id, m.room_id, m.sender, m.content, m.\"timestamp\", " +
+                "word_similarity(?, m.content) AS score FROM persisted_chat_message m " +
+                "WHERE m.\"timestamp\" >= ? AND m.message_type = 'CHAT' AND ");
+        params.add(term);
+        // 파티션 키 조건이므로 검색 기간 밖의 월별 파티션은 읽지 않음
+        params.add(Timestamp.valueOf(LocalDateTime.now().minusDays(messageWindowDays)));
+        if (roomId != null && !roomId.isBlank()) {
+            sql.append("m.room_id = ? AND ");
+            params.add(roomId);
+        }
+        appendMatchCondition(sql, params, term, "m.content");
+        sql.append(") s");
+        appendKeysetAndLimit(sql, params, cursor, "s.id", cursor != null ? parseLongKey(cursor) : null, fetchLimit);
+
+        return jdbcTemplate.query(sql.toString(), (RowMapper<SearchHitDto>) (rs, rowNum) -> new SearchHitDto(
+                String.valueOf(rs.getLong("id")), null, rs.getString("content"), rs.getString("room_id"), null,
+                rs.getString("sender"), toLocalDateTime(rs.getTimestamp("timestamp")), rs.getFloat("score")),
+                params.toArray());
+    }
+
+    private List<SearchHitDto> searchAnnouncements(String term, Cursor cursor, int fetchLimit) {
+        List<Object> params = new ArrayList<>();
+        // 제목과 본문 유사도를 더해 제목에 일치하는 공지가 앞에 오도록 함. 본문은 일치 위치 주변만 잘라 반환
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, title, author, created_at, snippet, score FROM (" +
+                "SELECT a.id, a.title, a.author, a.created_at, " +
+                "SUBSTRING(a.content FROM GREATEST(STRPOS(LOWER(a.content), LOWER(?)) - " + SNIPPET_LEADING_CHARS +
+                ", 1) FOR " + SNIPPET_LENGTH + ") AS snippet, " +
+                "word_similarity(?, a.title) + word_similarity(?, a.content) AS score " +
+                "FROM announcements a WHERE ");
+        params.add(term);
+        params.add(term);
+        params.add(term);
+        sql.append("(");
+        appendMatchCondition(sql, params, term, "a.title");
+        sql.append(" OR ");
+        appendMatchCondition(sql, params, term, "a.content");
+        sql.append(")) s");
+        appendKeysetAndLimit(sql, params, cursor, "s.id", cursor != null ? parseLongKey(cursor) : null, fetchLimit);
+
+        return jdbcTemplate.query(sql.toString(), (RowMapper<SearchHitDto>) (rs, rowNum) -> new SearchHitDto(
+                String.valueOf(rs.getLong("id")), rs.getString("title"), rs.getString("snippet"), null, null,
+                rs.getString("author"), toLocalDateTime(rs.getTimestamp("created_at")), rs.getFloat("score")),
+                params.toArray());
+    }
+
+    // 인덱스로 찾을 수 있는 일치 조건: 단어 유사도(<%) 또는 3자 이상이면 부분 일치(ILIKE)
+    private static void appendMatchCondition(StringBuilder sql, List<Object> params, String term, String column) {
+        sql.append("(? <% ").append(column);
+        params.add(term);
+        if (term.length() >= MIN_SUBSTRING_QUERY_LENGTH) {
+            sql.append(" OR ").append(column).append(" ILIKE ?");
+            params.add("%" + escapeLike(term) + "%");
+        }
+        sql.append(")");
+    }
+
+    // 커서 이후 페이지 조건과 정렬. score는 real이므로 커서 값도 real로 비교해야 같은 점수가 정확히 일치함
+    private static void appendKeysetAndLimit(StringBuilder sql, List<Object> params, Cursor cursor,
+                                             String keyColumn, Object cursorKey, int fetchLimit) {
+        if (cursor != null) {
+            sql.append(" WHERE s.score < CAST(? AS real) OR (s.score = CAST(? AS real) AND ")
+                    .append(keyColumn).append(" < ?)");
+            params.add(cursor.score());
+            params.add(cursor.score());
+            params.add(cursorKey);
+        }
+        sql.append(" ORDER BY s.score DESC, ").append(keyColumn).append(" DESC LIMIT ?");
+        params.add(fetchLimit);
+    }
+
+    private static long parseLongKey(Cursor cursor) {
+        try {
+            return Long.parseLong(cursor.key());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 검색 커서입니다: " + cursor);
+        }
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
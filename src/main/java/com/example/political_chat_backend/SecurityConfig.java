@@ -16,6 +16,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -25,6 +28,13 @@ import java.util.List;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // 관리자 권한으로 데이터를 변경하는 요청. 토큰 발급 이후 역할이 바뀌었을 수 있으므로
+    // AuthTokenFilter가 토큰의 역할 claim이나 사용자 캐시 대신 DB의 최신 역할로 인증합니다.
+    static final RequestMatcher ADMIN_WRITE_REQUESTS = new OrRequestMatcher(
+            AntPathRequestMatcher.antMatcher(HttpMethod.POST, "/api/announcements"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.PUT, "/api/announcements/*"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.DELETE, "/api/announcements/*"));
+
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler; // AuthEntryPointJwt는 security.jwt 패키지에 있다고 가정
 
@@ -41,7 +51,7 @@ public class SecurityConfig {
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         // AuthTokenFilter가 JwtUtils와 UserDetailsServiceImpl을 @Autowired로 주입받는다고 가정
-        return new AuthTokenFilter();
+        return new AuthTokenFilter(ADMIN_WRITE_REQUESTS);
     }
 
     @Bean
@@ -72,16 +82,19 @@ public class SecurityConfig {
                         // 만약 Render 헬스 체크 경로가 다르다면 해당 경로로 수정 (예: /healthz)
                         // .requestMatchers(HttpMethod.GET, "/healthz").permitAll()
 
+                        // 헬스 체크만 인증 없이 허용, Prometheus 스크랩을 포함한 나머지 Actuator 엔드포인트는 관리자만
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
+
                         .requestMatchers("/ws/**").permitAll() // WebSocket
+                        .requestMatchers("/ws-native").permitAll() // 네이티브 WebSocket (SockJS 없음)
                         .requestMatchers(HttpMethod.POST, "/api/auth/signup").permitAll() // 회원가입
                         .requestMatchers(HttpMethod.POST, "/api/auth/signin").permitAll() // 로그인
 
                         // 공지사항 API 접근 권한 설정
                         .requestMatchers(HttpMethod.GET, "/api/announcements").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/announcements/*").permitAll()
-                        .requestMatchers(HttpMethod.POST, "/api/announcements").hasAuthority("ROLE_ADMIN")
-                        .requestMatchers(HttpMethod.PUT, "/api/announcements/*").hasAuthority("ROLE_ADMIN")
-                        .requestMatchers(HttpMethod.DELETE, "/api/announcements/*").hasAuthority("ROLE_ADMIN")
+                        .requestMatchers(ADMIN_WRITE_REQUESTS).hasAuthority("ROLE_ADMIN") // 공지사항 생성/수정/삭제
 
                         // 채팅방 관련 API 경로
                         .requestMatchers(HttpMethod.GET, "/api/categories").permitAll()
@@ -0,0 +1,43 @@
+package com.example.political_chat_backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 특정 STOMP 세션 하나에만 /user/queue/** 메시지를 보내는 헬퍼.
+ * 같은 사용자가 여러 탭으로 접속해 있어도 요청한 세션으로만 전달됩니다.
+ */
+@Component
+public class SessionMessageSender {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    public SessionMessageSender(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    public void sendToSession(String username, String sessionId, String destination, Object payload) {
+        sendToSession(username, sessionId, destination, payload, Map.of());
+    }
+
+    /**
+     * @param nativeHeaders STOMP 프레임에 추가할 헤더
+     */
+    public void sendToSession(String username, String sessionId, String destination, Object payload,
+                              Map<String, String> nativeHeaders) {
+        if (username == null || sessionId == null) {
+            return;
+        }
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        nativeHeaders.forEach(accessor::setNativeHeader);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(username, destination, payload, accessor.getMessageHeaders());
+    }
+}
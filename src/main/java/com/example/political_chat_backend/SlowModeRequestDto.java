@@ -0,0 +1,17 @@
+package com.example.political_chat_backend;
+
+public class SlowModeRequestDto {
+    private Integer cooldownSeconds; // 메시지 전송 간격(초). 0이면 제한 없음, null이면 기본값으로 되돌림
+
+    // 기본 생성자 (JSON 역직렬화용)
+    public SlowModeRequestDto() {
+    }
+
+    public Integer getCooldownSeconds() {
+        return cooldownSeconds;
+    }
+
+    public void setCooldownSeconds(Integer cooldownSeconds) {
+        this.cooldownSeconds = cooldownSeconds;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.political_chat_backend;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOMP 프레임 인코딩 협상.
+ * CONNECT 프레임에 accept-content-type: application/cbor 헤더를 보낸 세션에게는 서버가 보내는 JSON 프레임을
+ * CBOR(바이너리)로 바꿔 전달합니다. 헤더가 없는 클라이언트는 기존과 같이 JSON을 받습니다.
+ * 변환된 프레임은 content-type: application/octet-stream;codec=cbor 로 표시되어 WebSocket 바이너리 프레임으로 전송됩니다.
+ * SockJS는 텍스트 프레임만 지원하므로 SockJS 세션은 협상 헤더를 보내도 JSON을 받습니다.
+ * 클라이언트가 보내는 SEND 프레임은 content-type: application/cbor 이면 CBOR로 읽습니다. (WebSocketConfig)
+ * <p>
+ * 내장 브로커(simple)는 메시지 헤더를 구독자별 메시지에 그대로 복사하므로, 브로커 채널에서 브로드캐스트마다 한 번
+ * CBOR로 변환해 헤더에 담아 두고 구독자별 프레임은 그 결과를 씁니다. 외부 브로커(relay)에서 돌아오는 프레임은
+ * 세션마다 따로 만들어지므로 프레임마다 변환하며, 이때도 세션 간에 공유하는 캐시나 잠금은 없습니다.
+ * 변환은 트리(JsonNode)를 만들지 않고 JSON 토큰을 CBOR로 바로 복사합니다.
+ */
+@Component
+public class StompCodecInterceptor implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(StompCodecInterceptor.class);
+
+    public static final MimeType APPLICATION_CBOR = MimeType.valueOf("application/cbor");
+    // StompSubProtocolHandler는 application/octet-stream 호환 content-type일 때만 바이너리 프레임으로 전송
+    public static final MimeType CBOR_FRAME_CONTENT_TYPE = new MimeType("application", "octet-stream", Map.of("codec", "cbor"));
+    public static final String ACCEPT_CONTENT_TYPE_HEADER = "accept-content-type";
+    public static final String SOCKJS_SESSION_ATTRIBUTE = "sockJsTransport";
+    // 브로커 채널에서 미리 변환한 CBOR payload를 담는 메시지 헤더 (STOMP native 헤더가 아니므로 클라이언트에 전송되지 않음)
+    public static final String CBOR_PAYLOAD_HEADER = "cborPayload";
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final CBORFactory cborFactory = new CBORFactory();
+
+    // CBOR 프레임을 받기로 한 세션 ID
+    private final Set<String> cborSessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 인바운드 채널: CONNECT 시 클라이언트가 원하는 인코딩을 기록합니다.
+     */
+    public ChannelInterceptor inbound() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand()) && !isSockJsSession(accessor)) {
+                    String accept = accessor.getFirstNativeHeader(ACCEPT_CONTENT_TYPE_HEADER);
+                    if (accept != null && MimeTypeUtils.parseMimeTypes(accept).stream().anyMatch(APPLICATION_CBOR::equalsTypeAndSubtype)) {
+                        cborSessions.add(accessor.getSessionId());
+                    }
+                }
+                return message;
+            }
+        };
+    }
+
+    /**
+     * 브로커 채널(내장 브로커 전용): CBOR 세션이 있으면 브로드캐스트할 JSON 메시지를 한 번 변환해 헤더에 담습니다.
+     */
+    public ChannelInterceptor broker() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                if (cborSessions.isEmpty() || !(message.getPayload() instanceof byte[] payload)
+                        || message.getHeaders().containsKey(CBOR_PAYLOAD_HEADER)) {
+                    return message;
+                }
+                SimpMessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class);
+                if (accessor == null || accessor.getMessageType() != SimpMessageType.MESSAGE || !isJson(accessor)) {
+                    return message;
+                }
+                try {
+                    return MessageBuilder.fromMessage(message).setHeader(CBOR_PAYLOAD_HEADER, transcode(payload)).build();
+                } catch (IOException e) {
+                    logger.warn("Failed to transcode broadcast to {} to CBOR: {}", accessor.getDestination(), e.getMessage());
+                    return message;
+                }
+            }
+        };
+    }
+
+    /**
+     * SockJS 엔드포인트 핸드셰이크에서 세션 속성에 SockJS 표시를 남깁니다.
+     */
+    public static HandshakeInterceptor sockJsSessionMarker() {
+        return new HandshakeInterceptor() {
+            @Override
+            public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                           WebSocketHandler wsHandler, Map<String, Object> attributes) {
+                attributes.put(SOCKJS_SESSION_ATTRIBUTE, Boolean.TRUE);
+                return true;
+            }
+
+            @Override
+            public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Exception exception) {
+            }
+        };
+    }
+
+    private static boolean isSockJsSession(StompHeaderAccessor accessor) {
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        return sessionAttributes != null && Boolean.TRUE.equals(sessionAttributes.get(SOCKJS_SESSION_ATTRIBUTE));
+    }
+
+    /**
+     * 아웃바운드 채널: CBOR 세션으로 가는 JSON MESSAGE 프레임을 CBOR로 변환합니다.
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (cborSessions.isEmpty() || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+        SimpMessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, SimpMessageHeaderAccessor.class);
+        if (accessor == null || accessor.getMessageType() != SimpMessageType.MESSAGE
+                || !cborSessions.contains(accessor.getSessionId())) {
+            return message;
+        }
+        if (!isJson(accessor)) {
+            return message;
+        }
+        byte[] cborPayload = (message.getHeaders().get(CBOR_PAYLOAD_HEADER) instanceof byte[] converted) ? converted : null;
+        if (cborPayload == null) {
+            try {
+                cborPayload = transcode(payload);
+            } catch (IOException e) {
+                logger.warn("Failed to transcode frame to CBOR for session {}: {}", accessor.getSessionId(), e.getMessage());
+                return message;
+            }
+        }
+        MessageHeaderAccessor mutableAccessor = MessageHeaderAccessor.getMutableAccessor(message);
+        mutableAccessor.removeHeader(CBOR_PAYLOAD_HEADER);
+        mutableAccessor.setContentType(CBOR_FRAME_CONTENT_TYPE);
+        if (mutableAccessor instanceof NativeMessageHeaderAccessor nativeAccessor
+                && nativeAccessor.getFirstNativeHeader(StompHeaderAccessor.STOMP_CONTENT_TYPE_HEADER) != null) {
+            nativeAccessor.setNativeHeader(StompHeaderAccessor.STOMP_CONTENT_TYPE_HEADER, CBOR_FRAME_CONTENT_TYPE.toString());
+        }
+        return MessageBuilder.createMessage(cborPayload, mutableAccessor.getMessageHeaders());
+    }
+
+    private static boolean isJson(SimpMessageHeaderAccessor accessor) {
+        MimeType contentType = accessor.getContentType();
+        return contentType != null && MimeTypeUtils.APPLICATION_JSON.equalsTypeAndSubtype(contentType);
+    }
+
+    byte[] transcode(byte[] jsonPayload) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(jsonPayload.length);
+        try (JsonParser parser = jsonFactory.createParser(jsonPayload);
+             JsonGenerator generator = cborFactory.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        return out.toByteArray();
+    }
+
+    @EventListener
+    public void handleSessionDisconnect(SessionDisconnectEvent event) {
+        cborSessions.remove(event.getSessionId());
+    }
+
+    public int getCborSessionCount() {
+        return cborSessions.size();
+    }
+}
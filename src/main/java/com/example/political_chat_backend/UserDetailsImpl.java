@@ -0,0 +1,23 @@
+package com.example.political_chat_backend;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * 사용자 ID를 함께 담는 UserDetails 구현체.
+ * JWT에 사용자 ID를 넣거나, 검증된 JWT claims만으로 인증 객체를 만들 때 사용합니다.
+ */
+public class UserDetailsImpl extends org.springframework.security.core.userdetails.User {
+
+    private final Long id;
+
+    public UserDetailsImpl(Long id, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.political_chat_backend;
 import com.example.political_chat_backend.User;
 import com.example.political_chat_backend.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,7 +12,9 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // 추가
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,6 +23,17 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Value("${app.auth.user-cache.ttl-ms:60000}")
+    private long userCacheTtlMs;
+
+    @Value("${app.auth.user-cache.max-entries:10000}")
+    private int userCacheMaxEntries;
+
+    // 짧은 TTL의 UserDetails 캐시 (역할 정보가 최신이어야 하는 요청에서 사용). Key: username
+    private final Map<String, CachedUser> userCache = new ConcurrentHashMap<>();
+
+    private record CachedUser(UserDetails userDetails, long expiresAtMillis) {}
+
     @Override
     @Transactional(readOnly = true) // 사용자 정보를 읽어오므로 readOnly 트랜잭션
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -35,9 +49,34 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         // Spring Security가 사용하는 UserDetails 객체를 생성하여 반환합니다.
         // org.springframework.security.core.userdetails.User를 사용합니다.
-        return new org.springframework.security.core.userdetails.User(
+        // 사용자 ID를 JWT에 담을 수 있도록 ID를 포함하는 UserDetailsImpl을 사용합니다.
+        return new UserDetailsImpl(
+                user.getId(),
                 user.getUsername(),
                 user.getPassword(), // DB에 저장된 암호화된 비밀번호
                 authorities);       // 변환된 역할 정보
     }
+
+    /**
+     * 짧은 TTL 캐시를 거쳐 사용자 정보를 조회합니다. (로그인 인증에는 사용하지 않음)
+     * 역할 claim이 없는 이전 토큰의 요청에서 사용하며, 캐시가 유효하면 DB를 조회하지 않습니다.
+     * 관리자 권한으로 데이터를 변경하는 요청(SecurityConfig.ADMIN_WRITE_REQUESTS)은 이 캐시를 거치지 않습니다.
+     * 현재 역할/계정 상태를 변경하는 API가 없으므로 별도 무효화 없이 TTL(app.auth.user-cache.ttl-ms)로만 갱신됩니다.
+     * (DB에서 직접 역할을 바꾸면 최대 TTL만큼 이전 역할이 적용됨)
+     */
+    public UserDetails loadCachedUserByUsername(String username) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        CachedUser cached = userCache.get(username);
+        if (cached != null && cached.expiresAtMillis() > now) {
+            return cached.userDetails();
+        }
+        UserDetails userDetails = loadUserByUsername(username);
+        if (userCache.size() >= userCacheMaxEntries) {
+            userCache.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        }
+        if (userCache.size() < userCacheMaxEntries) {
+            userCache.put(username, new CachedUser(userDetails, now + userCacheTtlMs));
+        }
+        return userDetails;
+    }
 }
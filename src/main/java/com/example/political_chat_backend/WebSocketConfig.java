@@ -1,24 +1,138 @@
 package com.example.political_chat_backend;
 
 import com.example.political_chat_backend.AuthChannelInterceptor;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import jakarta.servlet.ServletContext;
+import jakarta.websocket.server.ServerContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.util.StringUtils;
+import org.springframework.web.socket.WebSocketExtension;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketConfig.class);
+
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
     @Autowired
     private AuthChannelInterceptor authChannelInterceptor;
 
+    @Autowired
+    private ExecutionMetrics executionMetrics;
+
+    @Autowired
+    private StompCodecInterceptor stompCodecInterceptor;
+
+    @Autowired
+    private OutboundFlowControl outboundFlowControl;
+
+    // true이면 세션별 전송 큐로 느린 클라이언트를 격리 (접속자 프레임 우선 폐기, 느린 세션 연결 종료)
+    @Value("${app.websocket.outbound.enabled:true}")
+    private boolean outboundFlowControlEnabled;
+
+    // true이면 CONNECT 시 accept-content-type: application/cbor 를 보낸 클라이언트와 CBOR 프레임을 주고받음 (기본은 JSON)
+    @Value("${app.websocket.codec.cbor.enabled:true}")
+    private boolean cborEnabled;
+
+    // true이면 STOMP 인바운드/아웃바운드 채널 메시지를 플랫폼 스레드 풀 대신 가상 스레드에서 처리 (Tomcat 요청 처리와 같은 설정 사용)
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // SockJS 없이 접속하는 네이티브 WebSocket 엔드포인트(/ws-native)와 permessage-deflate 압축 협상 여부
+    @Value("${app.websocket.native.enabled:true}")
+    private boolean nativeEndpointEnabled;
+
+    @Value("${app.websocket.native.compression-enabled:true}")
+    private boolean compressionEnabled;
+
+    // STOMP 메시지 최대 크기, 세션별 전송 버퍼 한도, 한 번의 전송에 허용하는 최대 시간, 유휴 연결 타임아웃
+    @Value("${app.websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${app.websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${app.websocket.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${app.websocket.transport.idle-timeout-ms:600000}")
+    private long idleTimeoutMs;
+
+    // simple: JVM 내장 브로커 (단일 인스턴스), relay: 외부 STOMP 브로커(ActiveMQ Artemis, RabbitMQ 등) 릴레이 (다중 인스턴스)
+    @Value("${app.websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${app.websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${app.websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${app.websocket.broker.relay.client-login:guest}")
+    private String relayClientLogin;
+
+    @Value("${app.websocket.broker.relay.client-passcode:guest}")
+    private String relayClientPasscode;
+
+    @Value("${app.websocket.broker.relay.system-login:guest}")
+    private String relaySystemLogin;
+
+    @Value("${app.websocket.broker.relay.system-passcode:guest}")
+    private String relaySystemPasscode;
+
+    @Value("${app.websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue"); // 공용 목적지
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // 모든 인스턴스가 같은 외부 브로커를 구독하므로 /topic/room/{id} 팬아웃이 노드 간에 전달됩니다.
+            var relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayClientLogin)
+                    .setClientPasscode(relayClientPasscode)
+                    .setSystemLogin(relaySystemLogin)
+                    .setSystemPasscode(relaySystemPasscode)
+                    // 다른 노드에 접속한 사용자의 /user/queue/private 등을 전달하기 위한 설정
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+            if (StringUtils.hasText(relayVirtualHost)) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+            logger.info("Using STOMP broker relay at {}:{}", relayHost, relayPort);
+        } else {
+            config.enableSimpleBroker("/topic", "/queue"); // 공용 목적지
+            if (cborEnabled) {
+                // 구독자별 메시지에 헤더가 복사되므로 CBOR 변환을 브로드캐스트마다 한 번만 수행
+                config.configureBrokerChannel().interceptors(stompCodecInterceptor.broker());
+            }
+        }
+        if (virtualThreads) {
+            // 풀 대신 메시지마다 가상 스레드를 쓰므로, 같은 세션으로 나가는 메시지의 순서를 명시적으로 보장
+            config.setPreservePublishOrder(true);
+        }
         config.setApplicationDestinationPrefixes("/app"); // 메시지 핸들러 호출용
         config.setUserDestinationPrefix("/user"); // <<--- 사용자 특정 메시지를 위한 접두사 설정!!!
     }
@@ -27,11 +141,108 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*") // 실제 서비스에서는 프론트엔드 주소만 명시
+                .addInterceptors(StompCodecInterceptor.sockJsSessionMarker()) // SockJS는 텍스트 프레임만 지원 (CBOR 협상 제외)
                 .withSockJS();
+        if (nativeEndpointEnabled) {
+            // SockJS 프레이밍/HTTP 폴백 없이 바로 WebSocket으로 접속하는 최신 클라이언트용 (SockJS 엔드포인트는 레거시 브라우저용으로 유지)
+            registry.addEndpoint("/ws-native")
+                    .setAllowedOriginPatterns("*") // 실제 서비스에서는 프론트엔드 주소만 명시
+                    .setHandshakeHandler(nativeHandshakeHandler());
+        }
+        if (virtualThreads) {
+            // 같은 세션에서 들어온 메시지(입장 → 전송 등)는 받은 순서대로 처리
+            registry.setPreserveReceiveOrder(true);
+        }
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setMessageSizeLimit(messageSizeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimitMs);
+        if (outboundFlowControlEnabled) {
+            registration.addDecoratorFactory(outboundFlowControl);
+        }
+    }
+
+    /**
+     * 서블릿 컨테이너(Tomcat) WebSocket 설정: 프레임 버퍼 크기와 유휴 타임아웃
+     * (WebSocket 컨테이너가 없는 Mock 서블릿 환경의 테스트에서는 건너뜁니다)
+     */
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean() {
+            private ServletContext servletContext;
+
+            @Override
+            public void setServletContext(ServletContext servletContext) {
+                super.setServletContext(servletContext);
+                this.servletContext = servletContext;
+            }
+
+            @Override
+            public void afterPropertiesSet() {
+                if (servletContext == null || servletContext.getAttribute(ServerContainer.class.getName()) == null) {
+                    return;
+                }
+                super.afterPropertiesSet();
+            }
+        };
+        container.setMaxTextMessageBufferSize(messageSizeLimit);
+        container.setMaxBinaryMessageBufferSize(messageSizeLimit);
+        container.setMaxSessionIdleTimeout(idleTimeoutMs);
+        return container;
+    }
+
+    // Tomcat은 클라이언트가 요청하면 permessage-deflate를 기본으로 수락하므로, 비활성화 시에만 협상 목록에서 제외
+    private DefaultHandshakeHandler nativeHandshakeHandler() {
+        return new DefaultHandshakeHandler() {
+            @Override
+            protected List<WebSocketExtension> filterRequestedExtensions(ServerHttpRequest request,
+                                                                         List<WebSocketExtension> requestedExtensions,
+                                                                         List<WebSocketExtension> supportedExtensions) {
+                List<WebSocketExtension> extensions = super.filterRequestedExtensions(request, requestedExtensions, supportedExtensions);
+                if (compressionEnabled) {
+                    return extensions;
+                }
+                return extensions.stream()
+                        .filter(extension -> !PERMESSAGE_DEFLATE.equalsIgnoreCase(extension.getName()))
+                        .toList();
+            }
+        };
     }
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         registration.interceptors(authChannelInterceptor);
+        if (cborEnabled) {
+            registration.interceptors(stompCodecInterceptor.inbound());
+        }
+        if (virtualThreads) {
+            // JPA 조회, BCrypt 등 블로킹 작업이 스레드 풀 크기에 묶이지 않도록 메시지마다 가상 스레드에서 처리
+            registration.executor(executionMetrics.instrument("inbound", new VirtualThreadTaskExecutor("stomp-inbound-")));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        if (cborEnabled) {
+            registration.interceptors(stompCodecInterceptor);
+        }
+        if (virtualThreads) {
+            registration.executor(executionMetrics.instrument("outbound", new VirtualThreadTaskExecutor("stomp-outbound-")));
+        }
+    }
+
+    @Override
+    public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+        if (cborEnabled) {
+            // content-type: application/cbor 로 보낸 SEND 프레임만 처리 (content-type이 없거나 JSON이면 기본 JSON 변환기 사용)
+            MappingJackson2MessageConverter cborConverter = new MappingJackson2MessageConverter(StompCodecInterceptor.APPLICATION_CBOR);
+            cborConverter.setObjectMapper(new CBORMapper());
+            cborConverter.setStrictContentTypeMatch(true);
+            messageConverters.add(cborConverter);
+        }
+        return true; // 기본 변환기(JSON 등)도 함께 등록
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package com.example.political_chat_backend;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChatMessagePersistenceServiceTests {
+
+	private static final int MESSAGE_COUNT = 20;
+
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:persistence;DB_CLOSE_DELAY=-1", "sa", ""));
+		jdbcTemplate.execute("CREATE TABLE persisted_chat_message (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+				"room_id VARCHAR(255), sender VARCHAR(255), content VARCHAR(255), message_type VARCHAR(255), " +
+				"\"TIMESTAMP\" TIMESTAMP(6))");
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.execute("DROP TABLE persisted_chat_message");
+	}
+
+	@Test
+	void shutdownPersistsEveryEnqueuedMessage() throws InterruptedException {
+		// 배치 크기(50)보다 적은 메시지와 긴 flush 간격으로, 종료 시점에 writer가 꺼낸 메시지를 들고 다음 메시지를 기다리는 중이도록 함
+		ChatMessagePersistenceService service = new ChatMessagePersistenceService(jdbcTemplate,
+				new ChatMetrics(new SimpleMeterRegistry(), 10, 100), 1000, 50, 2000, 50);
+		service.start();
+
+		for (int i = 0; i < MESSAGE_COUNT; i++) {
+			service.enqueue(new PersistedChatMessage("room-" + (i % 5), "user", "message " + i, ChatMessage.MessageType.CHAT));
+		}
+		Thread.sleep(200);
+		service.shutdown();
+
+		assertEquals(MESSAGE_COUNT, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM persisted_chat_message", Integer.class));
+		assertEquals(MESSAGE_COUNT, service.getPersistedCount());
+		assertEquals(0, service.getFailedCount());
+	}
+}
@@ -0,0 +1,80 @@
+package com.example.political_chat_backend;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatRateLimiterTests {
+
+	private static final String ROOM_ID = "room-1";
+	private static final long INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void burstMessagesPassThenTheNextWaitsOneInterval() {
+		ChatRateLimiter limiter = new ChatRateLimiter(60, 3, 600);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, limiter.tryAcquire(ROOM_ID, "alice"), "message " + i + " is within the burst");
+		}
+		long waitNanos = limiter.tryAcquire(ROOM_ID, "alice");
+		// 세 번째 토큰까지 쓴 뒤에는 토큰 하나가 다시 채워질 때까지(간격 하나) 기다려야 함
+		assertTrue(waitNanos > INTERVAL_NANOS - TimeUnit.SECONDS.toNanos(1) && waitNanos <= INTERVAL_NANOS,
+				"wait was " + waitNanos);
+	}
+
+	@Test
+	void bucketsAreKeptPerUserAndRoom() {
+		ChatRateLimiter limiter = new ChatRateLimiter(60, 1, 600);
+
+		assertEquals(0, limiter.tryAcquire(ROOM_ID, "alice"));
+		assertTrue(limiter.tryAcquire(ROOM_ID, "alice") > 0);
+		assertEquals(0, limiter.tryAcquire(ROOM_ID, "bob"));
+		assertEquals(0, limiter.tryAcquire("room-2", "alice"));
+		assertEquals(3, limiter.getTrackedBucketCount());
+	}
+
+	@Test
+	void roomCooldownOverridesAndResetsToDefault() {
+		ChatRateLimiter limiter = new ChatRateLimiter(60, 1, 600);
+
+		limiter.setRoomCooldown(ROOM_ID, 0);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(0, limiter.tryAcquire(ROOM_ID, "alice"), "slow-mode disabled");
+		}
+
+		limiter.setRoomCooldown(ROOM_ID, 10);
+		assertEquals(0, limiter.tryAcquire(ROOM_ID, "alice"));
+		long waitNanos = limiter.tryAcquire(ROOM_ID, "alice");
+		assertTrue(waitNanos > 0 && waitNanos <= TimeUnit.SECONDS.toNanos(10), "wait was " + waitNanos);
+
+		limiter.setRoomCooldown(ROOM_ID, null);
+		assertEquals(0, limiter.tryAcquire(ROOM_ID, "bob"));
+		assertTrue(limiter.tryAcquire(ROOM_ID, "bob") > TimeUnit.SECONDS.toNanos(10), "default interval applies again");
+	}
+
+	@Test
+	void roomCooldownSetInTransactionAppliesOnlyAfterCommit() {
+		ChatRateLimiter limiter = new ChatRateLimiter(60, 1, 600);
+		TransactionSynchronizationManager.initSynchronization();
+
+		limiter.setRoomCooldown(ROOM_ID, 0);
+		assertEquals(0, limiter.tryAcquire(ROOM_ID, "alice"));
+		assertTrue(limiter.tryAcquire(ROOM_ID, "alice") > 0, "not applied before commit");
+
+		TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+		assertEquals(0, limiter.tryAcquire(ROOM_ID, "alice"), "applied after commit");
+	}
+}
@@ -0,0 +1,133 @@
+package com.example.political_chat_backend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatRoomUserServiceTests {
+
+	private static final String ROOM_ID = "room-1";
+
+	private final ChatRoomUserService service = new ChatRoomUserService();
+
+	@Test
+	void joinQueuedAfterDisconnectIsRejectedAndLeavesNoState() {
+		service.registerSession("s1", "alice");
+		service.removeSession("s1");
+
+		// 연결 종료 이벤트 뒤에 인바운드 실행기에 남아 있던 입장 프레임이 처리되는 경우
+		assertThrows(IllegalStateException.class, () -> service.joinRoom("s1", ROOM_ID));
+
+		assertEquals(0, service.countUsersInRoom(ROOM_ID));
+		assertEquals(0, service.getSessionCount());
+		assertTrue(service.getSessionsOfUser("alice").isEmpty());
+	}
+
+	@Test
+	void unregisteredSessionCannotJoin() {
+		assertThrows(IllegalStateException.class, () -> service.joinRoom("unknown", ROOM_ID));
+		assertEquals(0, service.getSessionCount());
+	}
+
+	@Test
+	void sameUserInSeveralTabsLeavesOnlyWithTheLastSession() {
+		service.registerSession("tab-1", "alice");
+		service.registerSession("tab-2", "alice");
+
+		ChatRoomUserService.PresenceUpdate joined = service.joinRoom("tab-1", ROOM_ID);
+		assertNotNull(joined);
+		assertTrue(joined.joined());
+		assertEquals(1, joined.userCount());
+		assertNull(service.joinRoom("tab-2", ROOM_ID), "second tab is not a new join");
+		assertNull(service.joinRoom("tab-2", ROOM_ID), "joining twice with the same session is a no-op");
+
+		assertTrue(service.removeSession("tab-1").isEmpty(), "other tab is still connected");
+		assertEquals(1, service.countUsersInRoom(ROOM_ID));
+		assertEquals(1, service.getSessionsOfUser("alice").size());
+
+		List<ChatRoomUserService.PresenceUpdate> left = service.removeSession("tab-2");
+		assertEquals(1, left.size());
+		assertFalse(left.get(0).joined());
+		assertEquals(0, left.get(0).userCount());
+		assertEquals(0, service.countUsersInRoom(ROOM_ID));
+		assertTrue(service.getSessionsOfUser("alice").isEmpty());
+		assertTrue(service.removeSession("tab-2").isEmpty(), "removing twice reports nothing");
+	}
+
+	@Test
+	void leaveRoomKeepsTheConnectionAndAllowsRejoining() {
+		service.registerSession("s1", "alice");
+		service.joinRoom("s1", ROOM_ID);
+
+		assertNotNull(service.leaveRoom("s1", ROOM_ID));
+		assertEquals(0, service.countUsersInRoom(ROOM_ID));
+		assertNotNull(service.joinRoom("s1", ROOM_ID));
+		assertEquals(1, service.countUsersInRoom(ROOM_ID));
+	}
+
+	@Test
+	void roomBeingDeletedRefusesJoinsUntilClosingFinishes() {
+		service.registerSession("s1", "alice");
+		service.registerSession("s2", "bob");
+		service.joinRoom("s1", ROOM_ID);
+
+		assertFalse(service.tryStartClosingRoom(ROOM_ID), "occupied room cannot be closed");
+		service.leaveRoom("s1", ROOM_ID);
+		assertTrue(service.tryStartClosingRoom(ROOM_ID));
+
+		assertThrows(IllegalStateException.class, () -> service.joinRoom("s2", ROOM_ID));
+		assertEquals(0, service.countUsersInRoom(ROOM_ID));
+		assertTrue(service.getSessionsOfUser("bob").contains("s2"), "rejected join keeps the connection");
+
+		service.finishClosingRoom(ROOM_ID);
+		assertNotNull(service.joinRoom("s2", ROOM_ID));
+		assertEquals(1, service.countUsersInRoom(ROOM_ID));
+	}
+
+	@Test
+	void concurrentJoinAndDisconnectNeverLeaveAGhostUser() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for (int i = 0; i < 2000; i++) {
+				String sessionId = "session-" + i;
+				service.registerSession(sessionId, "user-" + i);
+				CountDownLatch start = new CountDownLatch(1);
+				Future<?> join = executor.submit(() -> {
+					start.await();
+					try {
+						service.joinRoom(sessionId, ROOM_ID);
+					} catch (IllegalStateException ignored) {
+						// 연결 종료가 먼저 처리됨
+					}
+					return null;
+				});
+				Future<?> disconnect = executor.submit(() -> {
+					start.await();
+					service.removeSession(sessionId);
+					return null;
+				});
+				start.countDown();
+				join.get(5, TimeUnit.SECONDS);
+				disconnect.get(5, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(0, service.countUsersInRoom(ROOM_ID));
+		assertEquals(0, service.getSessionCount());
+		assertEquals(0, service.getPresenceCount());
+	}
+}
@@ -0,0 +1,31 @@
+package com.example.political_chat_backend;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * 테스트용 JVM 내장 STOMP 브로커 (ActiveMQ Artemis).
+ * app.websocket.broker.mode=relay 로 실행하는 테스트에서 @Import 하면 외부 브로커 없이 릴레이 모드를 검증할 수 있습니다.
+ * 브로커 빈은 컨텍스트 refresh 중에 시작되므로, 릴레이가 연결을 시도하는 시점에는 이미 떠 있습니다.
+ */
+@TestConfiguration
+public class EmbeddedStompBrokerConfig {
+
+    @Bean(destroyMethod = "stop")
+    public EmbeddedActiveMQ embeddedStompBroker(@Value("${app.websocket.broker.relay.port:61613}") int port) throws Exception {
+        ConfigurationImpl configuration = new ConfigurationImpl();
+        configuration.setPersistenceEnabled(false);
+        configuration.setSecurityEnabled(false);
+        // /topic/** 는 multicast(팬아웃), /queue/** 는 anycast 주소로 매핑
+        configuration.addAcceptorConfiguration("stomp",
+                "tcp://localhost:" + port + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/");
+
+        EmbeddedActiveMQ broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        broker.start();
+        return broker;
+    }
+}
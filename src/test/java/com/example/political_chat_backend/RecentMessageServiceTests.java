@@ -0,0 +1,82 @@
+package com.example.political_chat_backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RecentMessageServiceTests {
+
+	private static final String ROOM_ID = "room-1";
+
+	@Test
+	void appendToColdRoomDoesNotQueryTheDatabase() {
+		PersistedChatMessageRepository repository = mock(PersistedChatMessageRepository.class);
+		RecentMessageService service = new RecentMessageService(repository, 50, 100);
+
+		service.append(ROOM_ID, new ChatMessage("alice", "hello", ChatMessage.MessageType.CHAT, ROOM_ID));
+
+		verify(repository, never()).findByRoomIdOrderByIdDesc(anyString(), any(Limit.class));
+	}
+
+	@Test
+	void concurrentJoinsOnColdRoomLoadFromTheDatabaseOnce() throws Exception {
+		PersistedChatMessageRepository repository = mock(PersistedChatMessageRepository.class);
+		CountDownLatch release = new CountDownLatch(1);
+		when(repository.findByRoomIdOrderByIdDesc(anyString(), any(Limit.class))).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS); // 모든 입장이 조회 중에 도착하도록 잠시 붙잡음
+			return List.of(new PersistedChatMessage(ROOM_ID, "bob", "stored", ChatMessage.MessageType.CHAT));
+		});
+		RecentMessageService service = new RecentMessageService(repository, 50, 100);
+
+		int joiners = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(joiners);
+		try {
+			List<Future<List<ChatMessage>>> results = new ArrayList<>();
+			for (int i = 0; i < joiners; i++) {
+				results.add(executor.submit(() -> service.getRecentMessages(ROOM_ID)));
+			}
+			Thread.sleep(200);
+			release.countDown();
+			for (Future<List<ChatMessage>> result : results) {
+				List<ChatMessage> messages = result.get(5, TimeUnit.SECONDS);
+				assertEquals(1, messages.size());
+				assertEquals("stored", messages.get(0).getContent());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		verify(repository, times(1)).findByRoomIdOrderByIdDesc(anyString(), any(Limit.class));
+	}
+
+	@Test
+	void messagesAppendedAfterLoadAreReplayed() {
+		PersistedChatMessageRepository repository = mock(PersistedChatMessageRepository.class);
+		when(repository.findByRoomIdOrderByIdDesc(anyString(), any(Limit.class))).thenReturn(List.of());
+		RecentMessageService service = new RecentMessageService(repository, 50, 100);
+
+		service.getRecentMessages(ROOM_ID);
+		service.append(ROOM_ID, new ChatMessage("alice", "hello", ChatMessage.MessageType.CHAT, ROOM_ID));
+
+		List<ChatMessage> messages = service.getRecentMessages(ROOM_ID);
+		assertEquals(1, messages.size());
+		assertEquals("hello", messages.get(0).getContent());
+		verify(repository, times(1)).findByRoomIdOrderByIdDesc(anyString(), any(Limit.class));
+	}
+}
@@ -0,0 +1,139 @@
+package com.example.political_chat_backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SearchService의 PostgreSQL 전용 SQL 검증 (pg_trgm의 <% 연산자, set_config, real 타입 score keyset)과
+ * SearchIndexManager가 만든 trigram 인덱스(파티션 인덱스 포함)의 상태 확인.
+ * H2로는 검증할 수 없으므로 PostgreSQL 컨테이너를 사용하며, Docker가 없으면 건너뜁니다.
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"app.jwt.secret=search-postgres-test-secret-0123456789-0123456789-0123456789-0123456789-012345",
+		"app.search.timeout-ms=1500",
+		"app.search.word-similarity-threshold=0.5"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class SearchServicePostgresTests {
+
+	@Container
+	@ServiceConnection
+	static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@Autowired
+	private SearchService searchService;
+
+	@Autowired
+	private SearchIndexManager searchIndexManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void searchIndexesAreValidAndAttachedToEveryMessagePartition() {
+		assertTrue(searchIndexManager.isActive());
+		for (String index : List.of("idx_chat_room_name_trgm", "idx_persisted_chat_message_content_trgm",
+				"idx_announcements_title_trgm", "idx_announcements_content_trgm")) {
+			assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject(
+					"SELECT x.indisvalid FROM pg_index x JOIN pg_class c ON c.oid = x.indexrelid WHERE c.relname = ?",
+					Boolean.class, index), index + " is missing or invalid");
+		}
+		Integer unindexedPartitions = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM pg_inherits t WHERE t.inhparent = 'persisted_chat_message'::regclass " +
+						"AND NOT EXISTS (SELECT 1 FROM pg_inherits i JOIN pg_index x ON x.indexrelid = i.inhrelid " +
+						"WHERE i.inhparent = 'idx_persisted_chat_message_content_trgm'::regclass AND x.indrelid = t.inhrelid)",
+				Integer.class);
+		assertEquals(0, unindexedPartitions);
+	}
+
+	@Test
+	void twoCharacterQueryMatchesWordsWithParticlesThroughWordSimilarity() {
+		String categoryId = insertCategory();
+		String matching = insertRoom(categoryId, "정부가 발표한 예산안");
+		String other = insertRoom(categoryId, "주말 축구 이야기");
+
+		SearchResultPageDto page = searchService.search("정부", "rooms", null, null, SearchService.MAX_PAGE_SIZE);
+
+		List<String> roomIds = page.getResults().stream().map(SearchHitDto::getRoomId).toList();
+		assertTrue(roomIds.contains(matching), "word similarity (<%) did not match: " + roomIds);
+		assertFalse(roomIds.contains(other));
+	}
+
+	@Test
+	void messagePagesWithEqualScoresFollowTheRealTypedKeyset() {
+		String roomId = "search-keyset-" + UUID.randomUUID();
+		List<Long> inserted = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			inserted.add(jdbcTemplate.queryForObject(
+					"INSERT INTO persisted_chat_message (room_id, sender, content, message_type, \"timestamp\") " +
+							"VALUES (?, 'tester', '예산안 심사 토론', 'CHAT', ?) RETURNING id",
+					Long.class, roomId, Timestamp.valueOf(LocalDateTime.now())));
+		}
+
+		// 같은 점수의 행이 페이지 경계에 걸쳐 있어도 (score, id) 커서로 빠짐없이, 중복 없이 이어져야 함
+		List<Long> found = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			SearchResultPageDto page = searchService.search("예산안", "messages", roomId, cursor, 2);
+			page.getResults().forEach(hit -> found.add(Long.parseLong(hit.getId())));
+			cursor = page.getNextCursor();
+			assertEquals(page.isHasMore(), cursor != null);
+			pages++;
+		} while (cursor != null && pages < 10);
+
+		assertEquals(3, pages);
+		assertEquals(inserted.stream().sorted(Comparator.reverseOrder()).toList(), found);
+	}
+
+	@Test
+	void searchSettingsOnlyApplyToTheSearchTransaction() {
+		String statementTimeout = transactionTemplate.execute(status -> {
+			searchService.search("예산안", "announcements", null, null, 1);
+			return jdbcTemplate.queryForObject("SHOW statement_timeout", String.class);
+		});
+		assertEquals("1500ms", statementTimeout);
+
+		String afterTransaction = transactionTemplate.execute(status ->
+				jdbcTemplate.queryForObject("SHOW statement_timeout", String.class));
+		assertNotNull(afterTransaction);
+		assertEquals("0", afterTransaction);
+	}
+
+	private String insertCategory() {
+		String categoryId = "search-" + UUID.randomUUID();
+		jdbcTemplate.update("INSERT INTO community_category (category_id, name, created_at) VALUES (?, ?, ?)",
+				categoryId, "검색", Timestamp.valueOf(LocalDateTime.now()));
+		return categoryId;
+	}
+
+	private String insertRoom(String categoryId, String name) {
+		String roomId = UUID.randomUUID().toString();
+		jdbcTemplate.update("INSERT INTO chat_room (room_id, name, category_id, owner_username, created_at) VALUES (?, ?, ?, ?, ?)",
+				roomId, name, categoryId, "tester", Timestamp.valueOf(LocalDateTime.now()));
+		return roomId;
+	}
+}
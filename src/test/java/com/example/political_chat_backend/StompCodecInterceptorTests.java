@@ -0,0 +1,78 @@
+package com.example.political_chat_backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StompCodecInterceptorTests {
+
+	private static final byte[] JSON = "{\"type\":\"CHAT\",\"sender\":\"alice\",\"content\":\"안녕\",\"roomId\":\"r1\",\"seq\":42}"
+			.getBytes(StandardCharsets.UTF_8);
+
+	private final StompCodecInterceptor interceptor = new StompCodecInterceptor();
+
+	@BeforeEach
+	void connectCborSession() {
+		StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+		connect.setSessionId("cbor-1");
+		connect.setSessionAttributes(new HashMap<>());
+		connect.setNativeHeader(StompCodecInterceptor.ACCEPT_CONTENT_TYPE_HEADER, "application/cbor");
+		interceptor.inbound().preSend(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()), null);
+	}
+
+	@Test
+	void transcodedFrameDecodesToTheSameMessage() throws Exception {
+		Message<?> frame = interceptor.preSend(outboundFrame("cbor-1", JSON), null);
+
+		assertEquals(StompCodecInterceptor.CBOR_FRAME_CONTENT_TYPE, frame.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+		assertEquals(new ObjectMapper().readTree(JSON), new CBORMapper().readTree((byte[]) frame.getPayload()));
+	}
+
+	@Test
+	void broadcastIsTranscodedOnceAndReusedForEverySubscriber() {
+		Message<?> broadcast = interceptor.broker().preSend(outboundFrame(null, JSON), null);
+		byte[] converted = (byte[]) broadcast.getHeaders().get(StompCodecInterceptor.CBOR_PAYLOAD_HEADER);
+
+		// 내장 브로커는 헤더를 구독자별 메시지에 복사
+		SimpMessageHeaderAccessor subscriber = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+		subscriber.setSessionId("cbor-1");
+		subscriber.copyHeadersIfAbsent(broadcast.getHeaders());
+		subscriber.setLeaveMutable(true);
+		Message<?> frame = interceptor.preSend(MessageBuilder.createMessage(JSON, subscriber.getMessageHeaders()), null);
+
+		assertSame(converted, frame.getPayload());
+		assertFalse(frame.getHeaders().containsKey(StompCodecInterceptor.CBOR_PAYLOAD_HEADER));
+	}
+
+	@Test
+	void jsonSessionsKeepTheOriginalFrame() {
+		Message<byte[]> frame = outboundFrame("json-1", JSON);
+
+		assertSame(frame, interceptor.preSend(frame, null));
+	}
+
+	private static Message<byte[]> outboundFrame(String sessionId, byte[] payload) {
+		SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+		accessor.setSessionId(sessionId);
+		accessor.setDestination("/topic/room/r1");
+		accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+		accessor.setLeaveMutable(true);
+		return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+	}
+}
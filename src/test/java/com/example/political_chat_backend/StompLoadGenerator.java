@@ -0,0 +1,514 @@
+package com.example.political_chat_backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * STOMP 부하 생성기 (gradle loadTest).
+ * 사용자 N명을 가입/로그인시킨 뒤 /ws(SockJS WebSocket 전송)로 접속해 M개의 방에 나눠 입장시키고,
+ * 사용자마다 정해진 속도로 메시지를 보내면서 보낸 시각부터 각 구독자가 받은 시각까지의 지연을 측정합니다.
+ * <p>
+ * loadtest.base-url을 지정하지 않으면 H2 메모리 DB(PostgreSQL 모드)로 애플리케이션을 같은 JVM에서 띄워 측정합니다.
+ * 이때 파티션 관리(PostgreSQL 전용)는 끄고, 기본 쿨다운은 loadtest.cooldown-seconds(기본 0)로 설정합니다.
+ * 이미 떠 있는 서버(로컬 PostgreSQL 등)를 대상으로 하면 서버의 쿨다운 설정이 그대로 적용되며, 거부된 메시지는 rate-limited로 집계됩니다.
+ * <p>
+ * 설정 (-Ploadtest.xxx=값, 괄호 안은 기본값):
+ * <ul>
+ *     <li>loadtest.base-url (없음: 내장 실행) - 대상 서버 주소, 예: http://localhost:8080</li>
+ *     <li>loadtest.users (50), loadtest.rooms (5) - 사용자는 방에 순서대로 고르게 나뉩니다.</li>
+ *     <li>loadtest.rate (1.0) - 사용자 1명이 초당 보내는 메시지 수</li>
+ *     <li>loadtest.warmup-seconds (10), loadtest.duration-seconds (30) - 예열 구간의 메시지는 지연 통계에서 제외</li>
+ *     <li>loadtest.connect-concurrency (20) - 동시에 진행하는 가입/접속 수</li>
+ *     <li>loadtest.cooldown-seconds (0) - 내장 실행 시 서버 기본 쿨다운</li>
+ *     <li>loadtest.report-file (없음) - 결과를 JSON으로도 저장할 경로</li>
+ * </ul>
+ */
+public class StompLoadGenerator {
+
+    private static final String PAYLOAD_PREFIX = "LT|";
+    private static final String PASSWORD = "loadtest-password";
+    private static final long HISTOGRAM_MAX_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+    private final String runId = UUID.randomUUID().toString().substring(0, 6);
+    private final int userCount;
+    private final int roomCount;
+    private final double ratePerUser;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final int connectConcurrency;
+    private final String reportFile;
+
+    private String baseUrl;
+    private ConfigurableApplicationContext embeddedApp;
+    private WebSocketStompClient stompClient;
+    private ThreadPoolTaskScheduler heartbeatScheduler;
+
+    private final List<VirtualUser> users = new ArrayList<>();
+    // Key: roomId, Value: 입장 완료한 사용자 수 (메시지 하나가 전달되어야 하는 구독자 수)
+    private final Map<String, AtomicLong> roomSubscribers = new ConcurrentHashMap<>();
+
+    // 측정 구간 통계
+    private volatile boolean measuring = false;
+    private volatile boolean measured = false;
+    private volatile long measureStartNanos;
+    private volatile long measureEndNanos;
+    private final Histogram latencyMicros = new ConcurrentHistogram(HISTOGRAM_MAX_MICROS, 3);
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder expectedDeliveries = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder connectFailures = new LongAdder();
+    private final LongAdder transportErrors = new LongAdder();
+    private final LongAdder stompErrors = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    StompLoadGenerator() {
+        this.userCount = intProperty("loadtest.users", 50);
+        this.roomCount = Math.max(1, Math.min(intProperty("loadtest.rooms", 5), userCount));
+        this.ratePerUser = Double.parseDouble(System.getProperty("loadtest.rate", "1.0"));
+        this.warmupSeconds = intProperty("loadtest.warmup-seconds", 10);
+        this.durationSeconds = intProperty("loadtest.duration-seconds", 30);
+        this.connectConcurrency = intProperty("loadtest.connect-concurrency", 20);
+        this.reportFile = System.getProperty("loadtest.report-file");
+        this.baseUrl = System.getProperty("loadtest.base-url");
+    }
+
+    public static void main(String[] args) throws Exception {
+        StompLoadGenerator generator = new StompLoadGenerator();
+        int exitCode;
+        try {
+            exitCode = generator.run();
+        } finally {
+            generator.shutdown();
+        }
+        System.exit(exitCode);
+    }
+
+    int run() throws Exception {
+        if (baseUrl == null || baseUrl.isBlank()) {
+            startEmbeddedApp();
+        }
+        log("Target %s, run %s: %d users, %d rooms, %.2f msg/s per user", baseUrl, runId, userCount, roomCount, ratePerUser);
+
+        List<String> roomIds = createRooms();
+        registerUsers(roomIds);
+        connectUsers();
+
+        int connected = (int) users.stream().filter(VirtualUser::isJoined).count();
+        if (connected == 0) {
+            log("No user could connect; aborting.");
+            return 1;
+        }
+        log("%d/%d users connected; warming up for %ds", connected, userCount, warmupSeconds);
+
+        ScheduledExecutorService sendScheduler = Executors.newScheduledThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()));
+        List<ScheduledFuture<?>> senders = new ArrayList<>();
+        long periodMicros = ratePerUser > 0 ? (long) (1_000_000 / ratePerUser) : 0;
+        if (periodMicros > 0) {
+            for (VirtualUser user : users) {
+                if (user.isJoined()) {
+                    long initialDelay = ThreadLocalRandom.current().nextLong(periodMicros);
+                    senders.add(sendScheduler.scheduleAtFixedRate(user::sendChat, initialDelay, periodMicros, TimeUnit.MICROSECONDS));
+                }
+            }
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        measureStartNanos = System.nanoTime();
+        measuring = true;
+        log("Measuring for %ds", durationSeconds);
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        measureEndNanos = System.nanoTime();
+        measured = true;
+        senders.forEach(future -> future.cancel(false));
+        sendScheduler.shutdown();
+        sendScheduler.awaitTermination(5, TimeUnit.SECONDS);
+        // 측정 구간 끝에 보낸 메시지가 도착할 시간을 줌
+        TimeUnit.SECONDS.sleep(2);
+
+        report(connected);
+        return 0;
+    }
+
+    // --- 준비: 내장 서버, 카테고리/방, 사용자 ---
+
+    private void startEmbeddedApp() {
+        int cooldownSeconds = intProperty("loadtest.cooldown-seconds", 0);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("app.jwt.secret", UUID.randomUUID() + "-" + UUID.randomUUID());
+        properties.put("app.chat.partition.enabled", false);
+        properties.put("app.chat.rate-limit.default-cooldown-seconds", cooldownSeconds);
+        properties.put("app.websocket.broker.mode", "simple");
+        properties.put("logging.level.root", "WARN");
+        // application.properties보다 우선하도록 명령행 인자로 전달
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        embeddedApp = new SpringApplicationBuilder(PoliticalChatBackendApplication.class).run(args);
+        int port = ((WebServerApplicationContext) embeddedApp).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        log("Started embedded application on port %d (H2, cooldown %ds)", port, cooldownSeconds);
+    }
+
+    private List<String> createRooms() throws Exception {
+        // 방장은 쿨다운이 면제되므로 메시지를 보내지 않는 별도 계정으로 방을 만듦
+        String ownerToken = signUpAndSignIn("lt" + runId + "owner");
+        String categoryId = "loadtest-" + runId;
+        post("/api/categories", ownerToken, Map.of("categoryId", categoryId, "name", "Load test " + runId, "description", "load test"));
+        List<String> roomIds = new ArrayList<>();
+        for (int i = 0; i < roomCount; i++) {
+            JsonNode room = post("/api/categories/" + categoryId + "/chatrooms", ownerToken, Map.of("name", "load-" + runId + "-" + i));
+            String roomId = room.path("roomId").asText();
+            roomIds.add(roomId);
+            roomSubscribers.put(roomId, new AtomicLong());
+        }
+        return roomIds;
+    }
+
+    private void registerUsers(List<String> roomIds) throws Exception {
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            VirtualUser user = new VirtualUser(String.format("lt%s%05d", runId, i), roomIds.get(i % roomIds.size()));
+            users.add(user);
+        }
+        Semaphore permits = new Semaphore(connectConcurrency);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (VirtualUser user : users) {
+                pending.add(CompletableFuture.runAsync(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        user.token = signUpAndSignIn(user.username);
+                    } catch (Exception e) {
+                        connectFailures.increment();
+                        log("Sign-up failed for %s: %s", user.username, e.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        }
+    }
+
+    private String signUpAndSignIn(String username) throws Exception {
+        Map<String, String> credentials = Map.of("username", username, "password", PASSWORD);
+        HttpResponse<String> signup = send("/api/auth/signup", null, credentials);
+        if (signup.statusCode() != 201 && signup.statusCode() != 400) { // 400: 이미 존재하는 사용자 (재실행)
+            throw new IOException("signup returned " + signup.statusCode() + ": " + signup.body());
+        }
+        HttpResponse<String> signin = send("/api/auth/signin", null, credentials);
+        if (signin.statusCode() != 200) {
+            throw new IOException("signin returned " + signin.statusCode());
+        }
+        return objectMapper.readTree(signin.body()).path("token").asText();
+    }
+
+    private JsonNode post(String path, String token, Object body) throws Exception {
+        HttpResponse<String> response = send(path, token, body);
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("POST " + path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> send(String path, String token, Object body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    // --- STOMP 접속 ---
+
+    private void connectUsers() {
+        heartbeatScheduler = new ThreadPoolTaskScheduler();
+        heartbeatScheduler.setPoolSize(2);
+        heartbeatScheduler.setThreadNamePrefix("loadtest-heartbeat-");
+        heartbeatScheduler.initialize();
+
+        SockJsClient sockJsClient = new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient())));
+        stompClient = new WebSocketStompClient(sockJsClient);
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        stompClient.setTaskScheduler(heartbeatScheduler);
+        stompClient.setInboundMessageSizeLimit(1024 * 1024);
+
+        Semaphore permits = new Semaphore(connectConcurrency);
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        for (VirtualUser user : users) {
+            if (user.token == null) {
+                continue;
+            }
+            permits.acquireUninterruptibly();
+            CompletableFuture<?> joined = user.connect().whenComplete((ignored, error) -> permits.release());
+            pending.add(joined);
+        }
+        try {
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).get(2, TimeUnit.MINUTES);
+        } catch (Exception e) {
+            log("Some connections did not complete: %s", e.getMessage());
+        }
+    }
+
+    /**
+     * 가상 사용자 한 명: STOMP 세션 하나로 방 하나에 입장해 메시지를 보내고 받습니다.
+     */
+    private final class VirtualUser extends StompSessionHandlerAdapter {
+
+        final String username;
+        final String roomId;
+        volatile String token;
+        volatile StompSession session;
+        volatile boolean joined;
+        private final AtomicLong sequence = new AtomicLong();
+
+        VirtualUser(String username, String roomId) {
+            this.username = username;
+            this.roomId = roomId;
+        }
+
+        // STOMP 세션 future는 afterConnected 호출 전에 완료되므로, 입장 프레임까지 보낸 시점에 완료되는 future를 따로 둠
+        private final CompletableFuture<Void> joinedFuture = new CompletableFuture<>();
+
+        CompletableFuture<Void> connect() {
+            StompHeaders connectHeaders = new StompHeaders();
+            connectHeaders.add("Authorization", "Bearer " + token);
+            stompClient.connectAsync(baseUrl + "/ws", new WebSocketHttpHeaders(), connectHeaders, this)
+                    .whenComplete((connectedSession, error) -> {
+                        if (error != null) {
+                            connectFailures.increment();
+                            joinedFuture.completeExceptionally(error);
+                        }
+                    });
+            return joinedFuture;
+        }
+
+        @Override
+        public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+            this.session = session;
+            session.subscribe("/topic/room/" + roomId, new ChatFrameHandler(this::onRoomMessage));
+            session.subscribe("/user/queue/private", new ChatFrameHandler(this::onPrivateMessage));
+            session.send("/app/chat.addUser/" + roomId, new ChatMessage(username, null, ChatMessage.MessageType.JOIN, roomId));
+            roomSubscribers.get(roomId).incrementAndGet();
+            joined = true;
+            joinedFuture.complete(null);
+        }
+
+        boolean isJoined() {
+            return joined;
+        }
+
+        void sendChat() {
+            StompSession current = session;
+            if (current == null || !current.isConnected()) {
+                return;
+            }
+            long sentAt = System.nanoTime();
+            String content = PAYLOAD_PREFIX + sentAt + "|" + username + "|" + sequence.incrementAndGet();
+            try {
+                current.send("/app/chat.sendMessage/" + roomId, new ChatMessage(username, content, ChatMessage.MessageType.CHAT, roomId));
+                if (isMeasured(sentAt)) {
+                    sent.increment();
+                    expectedDeliveries.add(roomSubscribers.get(roomId).get());
+                }
+            } catch (RuntimeException e) {
+                if (isMeasured(sentAt)) {
+                    sendFailures.increment();
+                }
+            }
+        }
+
+        private void onRoomMessage(ChatMessage message) {
+            long receivedAt = System.nanoTime();
+            String content = message.getContent();
+            if (message.getType() != ChatMessage.MessageType.CHAT || content == null || !content.startsWith(PAYLOAD_PREFIX)) {
+                return;
+            }
+            int end = content.indexOf('|', PAYLOAD_PREFIX.length());
+            long sentAt = Long.parseLong(content.substring(PAYLOAD_PREFIX.length(), end));
+            if (isMeasured(sentAt)) {
+                delivered.increment();
+                latencyMicros.recordValue(Math.min(HISTOGRAM_MAX_MICROS, TimeUnit.NANOSECONDS.toMicros(receivedAt - sentAt)));
+            }
+        }
+
+        private void onPrivateMessage(ChatMessage message) {
+            // 쿨다운 거부 알림 (SYSTEM)
+            if (message.getType() == ChatMessage.MessageType.SYSTEM && isMeasured(System.nanoTime())) {
+                rateLimited.increment();
+            }
+        }
+
+        @Override
+        public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                    byte[] payload, Throwable exception) {
+            stompErrors.increment();
+        }
+
+        @Override
+        public void handleTransportError(StompSession session, Throwable exception) {
+            transportErrors.increment();
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            // 서버가 보낸 ERROR 프레임
+            stompErrors.increment();
+        }
+    }
+
+    private record ChatFrameHandler(Consumer<ChatMessage> consumer) implements StompFrameHandler {
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return ChatMessage.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            consumer.accept((ChatMessage) payload);
+        }
+    }
+
+    private boolean isMeasured(long nanoTime) {
+        return measuring && nanoTime - measureStartNanos >= 0 && (!measured || nanoTime - measureEndNanos < 0);
+    }
+
+    // --- 결과 ---
+
+    private void report(int connected) throws IOException {
+        double seconds = durationSeconds;
+        long missing = Math.max(0, expectedDeliveries.sum() - delivered.sum());
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("target", baseUrl);
+        result.put("users", userCount);
+        result.put("connectedUsers", connected);
+        result.put("rooms", roomCount);
+        result.put("ratePerUser", ratePerUser);
+        result.put("durationSeconds", durationSeconds);
+        result.put("messagesSent", sent.sum());
+        result.put("sendThroughputPerSecond", sent.sum() / seconds);
+        result.put("deliveries", delivered.sum());
+        result.put("deliveryThroughputPerSecond", delivered.sum() / seconds);
+        result.put("latencyMs", Map.of(
+                "p50", percentileMillis(50),
+                "p90", percentileMillis(90),
+                "p99", percentileMillis(99),
+                "p999", percentileMillis(99.9),
+                "max", latencyMicros.getMaxValue() / 1000.0));
+        result.put("errors", Map.of(
+                "connectFailures", connectFailures.sum(),
+                "transportErrors", transportErrors.sum(),
+                "stompErrors", stompErrors.sum(),
+                "sendFailures", sendFailures.sum(),
+                "rateLimited", rateLimited.sum(),
+                "missingDeliveries", missing));
+
+        StringBuilder out = new StringBuilder("\n=== STOMP load test result ===\n");
+        out.append(String.format("users %d (connected %d), rooms %d, %.2f msg/s per user, %ds measured%n",
+                userCount, connected, roomCount, ratePerUser, durationSeconds));
+        out.append(String.format("sent        %10d  (%.1f msg/s)%n", sent.sum(), sent.sum() / seconds));
+        out.append(String.format("delivered   %10d  (%.1f msg/s)%n", delivered.sum(), delivered.sum() / seconds));
+        out.append(String.format("latency ms  p50 %.2f  p90 %.2f  p99 %.2f  p999 %.2f  max %.2f%n",
+                percentileMillis(50), percentileMillis(90), percentileMillis(99), percentileMillis(99.9),
+                latencyMicros.getMaxValue() / 1000.0));
+        out.append(String.format("errors      connect %d, transport %d, stomp %d, send %d, rate-limited %d, missing deliveries %d%n",
+                connectFailures.sum(), transportErrors.sum(), stompErrors.sum(), sendFailures.sum(), rateLimited.sum(), missing));
+        System.out.println(out);
+
+        if (reportFile != null && !reportFile.isBlank()) {
+            Path path = Path.of(reportFile);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), result);
+            log("Report written to %s", path.toAbsolutePath());
+        }
+    }
+
+    private double percentileMillis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private void shutdown() {
+        for (VirtualUser user : users) {
+            StompSession session = user.session;
+            if (session != null && session.isConnected()) {
+                session.disconnect();
+            }
+        }
+        if (stompClient != null) {
+            stompClient.stop();
+        }
+        if (heartbeatScheduler != null) {
+            heartbeatScheduler.shutdown();
+        }
+        if (embeddedApp != null) {
+            embeddedApp.close();
+        }
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.println("[loadtest] " + String.format(format, args));
+    }
+}
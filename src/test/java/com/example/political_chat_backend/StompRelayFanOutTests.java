@@ -0,0 +1,167 @@
+package com.example.political_chat_backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * relay 브로커 모드 검증: 내장 Artemis STOMP 브로커(EmbeddedStompBrokerConfig)를 거쳐
+ * 한 클라이언트가 보낸 채팅 메시지가 같은 방을 구독한 다른 클라이언트에게 전달되는지 확인합니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:relaytest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"app.jwt.secret=relay-fan-out-test-secret-0123456789-0123456789-0123456789-0123456789-0123456789",
+		"app.chat.partition.enabled=false",
+		"app.chat.rate-limit.default-cooldown-seconds=0",
+		"app.chat.room-lifecycle.reconcile-on-startup=false",
+		"app.websocket.broker.mode=relay",
+		"app.websocket.broker.relay.port=61699"
+})
+@Import(EmbeddedStompBrokerConfig.class)
+class StompRelayFanOutTests {
+
+	private static final String PASSWORD = "relay-test-password";
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	private final List<StompSession> sessions = new ArrayList<>();
+	private ThreadPoolTaskScheduler scheduler;
+
+	@AfterEach
+	void tearDown() {
+		sessions.forEach(StompSession::disconnect);
+		if (scheduler != null) {
+			scheduler.shutdown();
+		}
+	}
+
+	@Test
+	void chatMessageFansOutToEverySubscriberThroughRelay() throws Exception {
+		String ownerToken = signUpAndSignIn("relayowner");
+		post("/api/categories", ownerToken, Map.of("categoryId", "relay", "name", "Relay", "description", "relay test"));
+		String roomId = post("/api/categories/relay/chatrooms", ownerToken, Map.of("name", "relay-room")).path("roomId").asText();
+
+		WebSocketStompClient stompClient = stompClient();
+		BlockingQueue<ChatMessage> aliceInbox = new LinkedBlockingQueue<>();
+		BlockingQueue<ChatMessage> bobInbox = new LinkedBlockingQueue<>();
+		StompSession alice = connectAndSubscribe(stompClient, signUpAndSignIn("relayalice"), roomId, aliceInbox);
+		connectAndSubscribe(stompClient, signUpAndSignIn("relaybob"), roomId, bobInbox);
+
+		alice.send("/app/chat.sendMessage/" + roomId, new ChatMessage("relayalice", "hello through relay", ChatMessage.MessageType.CHAT, roomId));
+
+		ChatMessage received = awaitChat(bobInbox);
+		assertNotNull(received, "subscriber did not receive the chat message through the relay");
+		assertEquals("relayalice", received.getSender());
+		assertEquals("hello through relay", received.getContent());
+		assertNotNull(awaitChat(aliceInbox), "sender did not receive its own message through the relay");
+	}
+
+	private WebSocketStompClient stompClient() {
+		scheduler = new ThreadPoolTaskScheduler();
+		scheduler.setPoolSize(2);
+		scheduler.initialize();
+		WebSocketStompClient stompClient = new WebSocketStompClient(
+				new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+		stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+		stompClient.setTaskScheduler(scheduler);
+		return stompClient;
+	}
+
+	// 구독 RECEIPT는 브로커가 SUBSCRIBE를 처리한 뒤 릴레이를 거쳐 돌아오므로, 받은 뒤에는 팬아웃 대상에 포함되어 있음
+	private StompSession connectAndSubscribe(WebSocketStompClient stompClient, String token, String roomId,
+											 BlockingQueue<ChatMessage> inbox) throws Exception {
+		StompHeaders connectHeaders = new StompHeaders();
+		connectHeaders.add("Authorization", "Bearer " + token);
+		StompSession session = stompClient.connectAsync("http://localhost:" + port + "/ws", new WebSocketHttpHeaders(),
+				connectHeaders, new StompSessionHandlerAdapter() {}).get(10, TimeUnit.SECONDS);
+		sessions.add(session);
+
+		session.setAutoReceipt(true);
+		CountDownLatch subscribed = new CountDownLatch(1);
+		session.subscribe("/topic/room/" + roomId, new StompFrameHandler() {
+			@Override
+			public Type getPayloadType(StompHeaders headers) {
+				return ChatMessage.class;
+			}
+
+			@Override
+			public void handleFrame(StompHeaders headers, Object payload) {
+				inbox.add((ChatMessage) payload);
+			}
+		}).addReceiptTask(subscribed::countDown);
+		assertTrue(subscribed.await(10, TimeUnit.SECONDS), "broker did not confirm the subscription");
+		session.setAutoReceipt(false);
+		session.send("/app/chat.addUser/" + roomId, new ChatMessage(null, null, ChatMessage.MessageType.JOIN, roomId));
+		return session;
+	}
+
+	// 입장/접속자 변경 알림은 건너뛰고 채팅 메시지만 기다림
+	private static ChatMessage awaitChat(BlockingQueue<ChatMessage> inbox) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (System.nanoTime() - deadline < 0) {
+			ChatMessage message = inbox.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+			if (message != null && message.getType() == ChatMessage.MessageType.CHAT) {
+				return message;
+			}
+		}
+		return null;
+	}
+
+	private String signUpAndSignIn(String username) {
+		Map<String, String> credentials = Map.of("username", username, "password", PASSWORD);
+		restTemplate.postForEntity("/api/auth/signup", credentials, String.class);
+		ResponseEntity<JsonNode> signin = restTemplate.postForEntity("/api/auth/signin", credentials, JsonNode.class);
+		assertEquals(HttpStatus.OK, signin.getStatusCode());
+		return signin.getBody().path("token").asText();
+	}
+
+	private JsonNode post(String path, String token, Object body) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(token);
+		ResponseEntity<JsonNode> response = restTemplate.postForEntity(path, new HttpEntity<>(body, headers), JsonNode.class);
+		assertTrue(response.getStatusCode().is2xxSuccessful(), "POST " + path + " returned " + response.getStatusCode());
+		return response.getBody();
+	}
+}